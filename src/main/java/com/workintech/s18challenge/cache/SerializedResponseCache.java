@@ -0,0 +1,167 @@
+package com.workintech.s18challenge.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.workintech.s18challenge.dto.EntityVersion;
+import com.workintech.s18challenge.entity.Author;
+import com.workintech.s18challenge.entity.Book;
+import com.workintech.s18challenge.event.AuthorSavedEvent;
+import com.workintech.s18challenge.event.BookSavedEvent;
+import com.workintech.s18challenge.event.CatalogImportedEvent;
+import com.workintech.s18challenge.event.CategorySavedEvent;
+import com.workintech.s18challenge.replica.ReadReplicaRoutingDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.context.request.WebRequest;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+@Component
+public class SerializedResponseCache {
+
+    private static final String CACHE_NAME = "serialized-responses";
+
+    public enum View {
+        CATEGORY, AUTHOR, AUTHOR_BOOKS, BOOK
+    }
+
+    private record Entry(EntityVersion version, byte[] body) {
+    }
+
+    private record Key(View view, long id) {
+    }
+
+    private final Cache<Key, Entry> entries;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+
+    public SerializedResponseCache(ObjectMapper objectMapper, MeterRegistry meterRegistry,
+                                   PlatformTransactionManager transactionManager,
+                                   @Value("${response-cache.maximum-size:64MB}") DataSize maximumSize,
+                                   @Value("${response-cache.time-to-live:10m}") Duration timeToLive) {
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.transactionTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        this.entries = Caffeine.newBuilder()
+                .maximumWeight(maximumSize.toBytes())
+                .expireAfterWrite(timeToLive)
+                .<Key, Entry>weigher((key, entry) -> entry.body().length)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, entries, CACHE_NAME,
+                "cache.manager", "serializedResponseCache", "name", CACHE_NAME);
+    }
+
+    public ResponseEntity<byte[]> respond(View view, long id, WebRequest request,
+                                          Supplier<EntityVersion> versionLoader, Supplier<?> responseLoader) {
+        Key key = new Key(view, id);
+        Entry entry = entries.getIfPresent(key);
+        if (entry == null && !hasValidators(request)) {
+            entry = entries.get(key, k -> load(versionLoader, responseLoader));
+        }
+        EntityVersion version = entry == null ? ReadReplicaRoutingDataSource.readFromPrimary(versionLoader) : entry.version();
+        if (request.checkNotModified(eTag(version), lastModified(version))) {
+            return null;
+        }
+
+        if (entry == null) {
+            entry = entries.get(key, k -> load(versionLoader, responseLoader));
+        }
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .eTag(eTag(entry.version()))
+                .lastModified(lastModified(entry.version()))
+                .body(entry.body());
+    }
+
+    public void evict(View view, long id) {
+        entries.invalidate(new Key(view, id));
+    }
+
+    public void evictAll(View view) {
+        entries.asMap().keySet().removeIf(key -> key.view() == view);
+    }
+
+    public void clear() {
+        entries.invalidateAll();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookSaved(BookSavedEvent event) {
+        Book book = event.book();
+        evict(View.BOOK, book.getId());
+        if (!event.created()) {
+            evictAll(View.AUTHOR_BOOKS);
+            return;
+        }
+        Author author = book.getAuthor();
+        if (author != null) {
+            evict(View.AUTHOR_BOOKS, author.getId());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAuthorSaved(AuthorSavedEvent event) {
+        evict(View.AUTHOR, event.author().getId());
+        if (event.created()) {
+            return;
+        }
+        evictAll(View.AUTHOR_BOOKS);
+        evictAll(View.BOOK);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCategorySaved(CategorySavedEvent event) {
+        evict(View.CATEGORY, event.category().getId());
+        if (event.created()) {
+            return;
+        }
+        evictAll(View.AUTHOR_BOOKS);
+        evictAll(View.BOOK);
+    }
+
+    @EventListener
+    public void onCatalogImported(CatalogImportedEvent event) {
+        clear();
+    }
+
+    private Entry load(Supplier<EntityVersion> versionLoader, Supplier<?> responseLoader) {
+        return ReadReplicaRoutingDataSource.readFromPrimary(() -> transactionTemplate.execute(status ->
+                new Entry(versionLoader.get(), serialize(responseLoader.get()))));
+    }
+
+    private static boolean hasValidators(WebRequest request) {
+        return request.getHeader(HttpHeaders.IF_NONE_MATCH) != null || request.getHeader(HttpHeaders.IF_MODIFIED_SINCE) != null;
+    }
+
+    private static String eTag(EntityVersion version) {
+        return "\"" + version.tag() + "\"";
+    }
+
+    private static long lastModified(EntityVersion version) {
+        return version.lastModified() == null ? -1 : version.lastModified().toEpochMilli();
+    }
+
+    private byte[] serialize(Object response) {
+        try {
+            return objectMapper.writeValueAsBytes(response);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Response could not be serialized: " + e.getOriginalMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.workintech.s18challenge.config;
+
+import graphql.analysis.FieldComplexityCalculator;
+import graphql.analysis.MaxQueryComplexityInstrumentation;
+import graphql.analysis.MaxQueryDepthInstrumentation;
+import graphql.schema.GraphQLTypeUtil;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class GraphQlConfig {
+
+    private static final int MAX_LIST_SIZE = 100;
+
+    @Bean
+    public MaxQueryDepthInstrumentation maxQueryDepthInstrumentation(@Value("${graphql.max-query-depth:6}") int maxQueryDepth) {
+        return new MaxQueryDepthInstrumentation(maxQueryDepth);
+    }
+
+    @Bean
+    public MaxQueryComplexityInstrumentation maxQueryComplexityInstrumentation(
+            @Value("${graphql.max-query-complexity:50000}") int maxQueryComplexity) {
+        FieldComplexityCalculator listSizeWeighted = (environment, childComplexity) -> {
+            long complexity = 1L + childComplexity;
+            if (GraphQLTypeUtil.isList(GraphQLTypeUtil.unwrapNonNull(environment.getFieldDefinition().getType()))) {
+                complexity *= MAX_LIST_SIZE;
+            }
+            return (int) Math.min(complexity, Integer.MAX_VALUE);
+        };
+        return new MaxQueryComplexityInstrumentation(maxQueryComplexity, listSizeWeighted);
+    }
+}
@@ -0,0 +1,61 @@
+package com.workintech.s18challenge.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+@Configuration
+@EnableConfigurationProperties(JdbcTuningProperties.class)
+@ConditionalOnProperty(prefix = "jdbc.tuning", name = "enabled")
+public class JdbcTuningConfig {
+
+    @Bean
+    public static BeanPostProcessor jdbcTuningDataSourcePostProcessor(ObjectProvider<JdbcTuningProperties> properties) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof HikariDataSource hikari && "dataSource".equals(beanName)) {
+                    JdbcTuningProperties tuning = properties.getObject();
+                    JdbcTuningProperties.Pool pool = tuning.pool();
+                    hikari.setMaximumPoolSize(pool.maximumPoolSize());
+                    hikari.setMinimumIdle(pool.minimumIdle());
+                    hikari.setConnectionTimeout(pool.connectionTimeout().toMillis());
+                    hikari.setIdleTimeout(pool.idleTimeout().toMillis());
+                    hikari.setMaxLifetime(pool.maxLifetime().toMillis());
+                    if (hikari.getJdbcUrl() != null && hikari.getJdbcUrl().startsWith("jdbc:postgresql:")) {
+                        JdbcTuningProperties.Postgres postgres = tuning.postgres();
+                        hikari.addDataSourceProperty("prepareThreshold", postgres.prepareThreshold());
+                        hikari.addDataSourceProperty("preparedStatementCacheQueries", postgres.preparedStatementCacheQueries());
+                        hikari.addDataSourceProperty("reWriteBatchedInserts", postgres.reWriteBatchedInserts());
+                    }
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer jdbcTuningHibernateProperties(JdbcTuningProperties properties) {
+        JdbcTuningProperties.Hibernate hibernate = properties.hibernate();
+        return hibernateProperties -> {
+            hibernateProperties.put(AvailableSettings.STATEMENT_BATCH_SIZE, hibernate.batchSize());
+            hibernateProperties.put(AvailableSettings.ORDER_INSERTS, hibernate.orderInserts());
+            hibernateProperties.put(AvailableSettings.ORDER_UPDATES, hibernate.orderUpdates());
+            hibernateProperties.put(AvailableSettings.DEFAULT_BATCH_FETCH_SIZE, hibernate.defaultBatchFetchSize());
+        };
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "jdbc.tuning.self-benchmark", name = "enabled")
+    public PoolSizeAdvisor poolSizeAdvisor(DataSource dataSource, JdbcTuningProperties properties) {
+        return new PoolSizeAdvisor(dataSource, properties);
+    }
+}
@@ -0,0 +1,37 @@
+package com.workintech.s18challenge.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "jdbc.tuning")
+public record JdbcTuningProperties(@DefaultValue("false") boolean enabled,
+                                   @DefaultValue Pool pool,
+                                   @DefaultValue Postgres postgres,
+                                   @DefaultValue Hibernate hibernate,
+                                   @DefaultValue SelfBenchmark selfBenchmark) {
+
+    public record Pool(@DefaultValue("10") int maximumPoolSize,
+                       @DefaultValue("10") int minimumIdle,
+                       @DefaultValue("30s") Duration connectionTimeout,
+                       @DefaultValue("10m") Duration idleTimeout,
+                       @DefaultValue("30m") Duration maxLifetime) {
+    }
+
+    public record Postgres(@DefaultValue("5") int prepareThreshold,
+                           @DefaultValue("256") int preparedStatementCacheQueries,
+                           @DefaultValue("true") boolean reWriteBatchedInserts) {
+    }
+
+    public record Hibernate(@DefaultValue("50") int batchSize,
+                            @DefaultValue("true") boolean orderInserts,
+                            @DefaultValue("true") boolean orderUpdates,
+                            @DefaultValue("32") int defaultBatchFetchSize) {
+    }
+
+    public record SelfBenchmark(@DefaultValue("false") boolean enabled,
+                                @DefaultValue("200ms") Duration durationPerLevel,
+                                @DefaultValue("0.9") double throughputThreshold) {
+    }
+}
@@ -0,0 +1,128 @@
+package com.workintech.s18challenge.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.LongAdder;
+
+@Slf4j
+public class PoolSizeAdvisor implements ApplicationRunner {
+
+    private static final int ROUND_TRIP_SAMPLES = 100;
+
+    private final DataSource dataSource;
+    private final JdbcTuningProperties properties;
+    private volatile Recommendation recommendation;
+
+    public PoolSizeAdvisor(DataSource dataSource, JdbcTuningProperties properties) {
+        this.dataSource = dataSource;
+        this.properties = properties;
+    }
+
+    public record Recommendation(double roundTripMillis, int recommendedPoolSize, Map<Integer, Double> queriesPerSecond) {
+    }
+
+    public Recommendation recommendation() {
+        return recommendation;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        try {
+            recommendation = measure();
+            log.info("Pool self-benchmark: round trip {} ms, queries/s by connections {}, recommended maximum-pool-size {} (configured {})",
+                    String.format("%.3f", recommendation.roundTripMillis()), recommendation.queriesPerSecond(),
+                    recommendation.recommendedPoolSize(), properties.pool().maximumPoolSize());
+        } catch (SQLException | ExecutionException e) {
+            log.warn("Pool self-benchmark failed: {}", e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public Recommendation measure() throws SQLException, ExecutionException, InterruptedException {
+        int maximumPoolSize = properties.pool().maximumPoolSize();
+        double roundTripMillis = roundTripMillis();
+        Map<Integer, Double> queriesPerSecond = new LinkedHashMap<>();
+        double best = 0;
+        for (int connections = 1; ; connections = Math.min(connections * 2, maximumPoolSize)) {
+            double throughput = throughput(connections, properties.selfBenchmark().durationPerLevel());
+            queriesPerSecond.put(connections, throughput);
+            best = Math.max(best, throughput);
+            if (connections == maximumPoolSize) {
+                break;
+            }
+        }
+
+        int recommendedPoolSize = maximumPoolSize;
+        for (Map.Entry<Integer, Double> level : queriesPerSecond.entrySet()) {
+            if (level.getValue() >= best * properties.selfBenchmark().throughputThreshold()) {
+                recommendedPoolSize = level.getKey();
+                break;
+            }
+        }
+        return new Recommendation(roundTripMillis, recommendedPoolSize, queriesPerSecond);
+    }
+
+    private double roundTripMillis() throws SQLException {
+        long[] samples = new long[ROUND_TRIP_SAMPLES];
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            ping(statement);
+            for (int i = 0; i < samples.length; i++) {
+                long start = System.nanoTime();
+                ping(statement);
+                samples[i] = System.nanoTime() - start;
+            }
+        }
+        Arrays.sort(samples);
+        return samples[samples.length / 2] / 1_000_000d;
+    }
+
+    private double throughput(int connections, Duration duration) throws ExecutionException, InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(connections);
+        LongAdder queries = new LongAdder();
+        long deadline = System.nanoTime() + duration.toNanos();
+        try {
+            List<Future<?>> futures = new ArrayList<>(connections);
+            for (int i = 0; i < connections; i++) {
+                futures.add(executor.submit(() -> {
+                    try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+                        while (System.nanoTime() < deadline) {
+                            ping(statement);
+                            queries.increment();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+        return queries.sum() * 1_000_000_000d / duration.toNanos();
+    }
+
+    private static void ping(Statement statement) throws SQLException {
+        try (ResultSet resultSet = statement.executeQuery("SELECT 1")) {
+            resultSet.next();
+        }
+    }
+}
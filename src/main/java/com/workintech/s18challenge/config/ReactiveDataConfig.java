@@ -0,0 +1,40 @@
+package com.workintech.s18challenge.config;
+
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.pool.PoolingConnectionFactoryProvider;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+@Profile("reactive")
+@Configuration
+public class ReactiveDataConfig {
+
+    @Bean(destroyMethod = "dispose")
+    public ConnectionPool reactiveConnectionFactory(@Value("${spring.r2dbc.url}") String url,
+                                                    @Value("${spring.r2dbc.username}") String username,
+                                                    @Value("${spring.r2dbc.password}") String password,
+                                                    @Value("${spring.r2dbc.pool.max-size:20}") int maxSize) {
+        ConnectionFactoryOptions options = ConnectionFactoryOptions.parse(url).mutate()
+                .option(ConnectionFactoryOptions.USER, username)
+                .option(ConnectionFactoryOptions.PASSWORD, password)
+                .option(PoolingConnectionFactoryProvider.MAX_SIZE, maxSize)
+                .build();
+        ConnectionFactory connectionFactory = ConnectionFactories.get(options);
+        if (connectionFactory instanceof ConnectionPool connectionPool) {
+            return connectionPool;
+        }
+        return new ConnectionPool(ConnectionPoolConfiguration.builder(connectionFactory).maxSize(maxSize).build());
+    }
+
+    @Bean
+    public DatabaseClient reactiveDatabaseClient(ConnectionFactory reactiveConnectionFactory) {
+        return DatabaseClient.create(reactiveConnectionFactory);
+    }
+}
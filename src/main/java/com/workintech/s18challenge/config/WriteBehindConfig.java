@@ -0,0 +1,10 @@
+package com.workintech.s18challenge.config;
+
+import com.workintech.s18challenge.service.BookWriteBehindProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(BookWriteBehindProperties.class)
+public class WriteBehindConfig {
+}
@@ -1,15 +1,23 @@
 package com.workintech.s18challenge.controller;
 
+import com.workintech.s18challenge.cache.SerializedResponseCache;
 import com.workintech.s18challenge.dto.AuthorResponse;
 import com.workintech.s18challenge.dto.AuthorResponseWithBooks;
 import com.workintech.s18challenge.dto.BookResponse;
+import com.workintech.s18challenge.dto.ImportResponse;
 import com.workintech.s18challenge.entity.Author;
 import com.workintech.s18challenge.entity.Book;
 import com.workintech.s18challenge.service.AuthorService;
 import com.workintech.s18challenge.service.BookService;
+import com.workintech.s18challenge.service.ImportService;
 import lombok.AllArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.server.ResponseStatusException;
 
+import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -18,10 +26,39 @@ import java.util.List;
 @RequestMapping("/author")
 public class AuthorController {
 
+    private static final int MAX_IDS = 100;
+
+    private static final int MAX_BOOKS = 100;
+
     private final AuthorService authorService;
 
     private final BookService bookService;
 
+    private final ImportService importService;
+
+    private final SerializedResponseCache serializedResponseCache;
+
+    @GetMapping(params = "ids")
+    public List<AuthorResponse> findAll(@RequestParam List<Long> ids) {
+        if (ids.size() > MAX_IDS) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "At most " + MAX_IDS + " ids can be requested at once");
+        }
+        return authorService.findAllById(ids);
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<byte[]> get(@PathVariable long id, WebRequest request) {
+        return serializedResponseCache.respond(SerializedResponseCache.View.AUTHOR, id, request,
+                () -> authorService.findVersionById(id), () -> authorService.findResponseById(id));
+    }
+
+    @GetMapping("/{id}/books")
+    public ResponseEntity<byte[]> getWithBooks(@PathVariable long id, WebRequest request) {
+        return serializedResponseCache.respond(SerializedResponseCache.View.AUTHOR_BOOKS, id, request,
+                () -> authorService.findBooksVersionById(id),
+                () -> new AuthorResponseWithBooks(bookService.findByAuthorId(id, 0, MAX_BOOKS)));
+    }
+
     @PostMapping
     public Author save(@RequestBody Author author) {
         return authorService.save(author);
@@ -29,15 +66,20 @@ public class AuthorController {
 
     @PostMapping("/{bookId}")
     public AuthorResponseWithBooks save(@RequestBody Author author, @PathVariable long bookId) {
-        Book foundBook = bookService.findById(bookId);
-        author.addBook(foundBook);
-        authorService.save(author);
+        Author authorWithBooks = authorService.saveWithBook(author, bookId);
+        AuthorResponse authorResponse = new AuthorResponse(authorWithBooks.getId(),
+                authorWithBooks.getFirstName() + " " + authorWithBooks.getLastName());
         List<BookResponse> responseList = new ArrayList<>();
-        for (Book authorBook : author.getBooks()) {
+        for (Book authorBook : authorWithBooks.getBooks()) {
             responseList.add(new BookResponse(authorBook.getId(), authorBook.getName(), authorBook.getCategory().getName(),
-                    new AuthorResponse(author.getId(), author.getFirstName() + " " + author.getLastName())));
+                    authorResponse));
         }
         return new AuthorResponseWithBooks(responseList);
     }
 
+    @PostMapping(value = "/import", consumes = "application/x-ndjson")
+    public ImportResponse importNdjson(InputStream inputStream) {
+        return importService.importAuthors(inputStream);
+    }
+
 }
@@ -1,47 +1,172 @@
 package com.workintech.s18challenge.controller;
 
+import com.workintech.s18challenge.cache.SerializedResponseCache;
 import com.workintech.s18challenge.dto.AuthorResponse;
+import com.workintech.s18challenge.dto.BookPageResponse;
+import com.workintech.s18challenge.dto.BookRequest;
 import com.workintech.s18challenge.dto.BookResponse;
-import com.workintech.s18challenge.entity.Author;
+import com.workintech.s18challenge.dto.BookSearchResponse;
+import com.workintech.s18challenge.dto.BookSearchResult;
+import com.workintech.s18challenge.dto.BookWriteResponse;
+import com.workintech.s18challenge.dto.CategoryResponse;
+import com.workintech.s18challenge.dto.ImportResponse;
 import com.workintech.s18challenge.entity.Book;
-import com.workintech.s18challenge.entity.Category;
 import com.workintech.s18challenge.service.AuthorService;
+import com.workintech.s18challenge.service.BookSearchService;
 import com.workintech.s18challenge.service.BookService;
+import com.workintech.s18challenge.service.BookWriteBehindService;
 import com.workintech.s18challenge.service.CategoryService;
+import com.workintech.s18challenge.service.ImportService;
 import lombok.AllArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 @AllArgsConstructor
 @RestController
 @RequestMapping("/book")
 public class BookController {
 
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int MAX_IDS = 100;
+
     private final BookService bookService;
     private final CategoryService categoryService;
     private final AuthorService authorService;
+    private final ImportService importService;
+    private final BookSearchService bookSearchService;
+    private final BookWriteBehindService bookWriteBehindService;
+    private final SerializedResponseCache serializedResponseCache;
+
+    @GetMapping(params = "ids")
+    public List<BookResponse> findAll(@RequestParam List<Long> ids) {
+        if (ids.size() > MAX_IDS) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "At most " + MAX_IDS + " ids can be requested at once");
+        }
+        return bookService.findAllById(ids);
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<byte[]> get(@PathVariable long id, WebRequest request) {
+        return serializedResponseCache.respond(SerializedResponseCache.View.BOOK, id, request,
+                () -> bookService.findVersionById(id), () -> bookService.findResponseById(id));
+    }
 
     @PostMapping("/{categoryId}")
-    public BookResponse save(@RequestBody Book book, @PathVariable long categoryId) {
-        Category category = categoryService.findById(categoryId);
-        book.setCategory(category);
-        category.addBook(book);
+    public ResponseEntity<?> save(@RequestBody Book book, @PathVariable long categoryId) {
+        if (bookWriteBehindService.isEnabled()) {
+            return accepted(new BookRequest(book.getName(), categoryId, null));
+        }
+        CategoryResponse category = categoryService.findResponseById(categoryId);
+        book.setCategory(categoryService.getReferenceById(categoryId));
         bookService.save(book);
-        return new BookResponse(book.getId(), book.getName(), book.getCategory().getName(), null);
+        return ResponseEntity.ok(new BookResponse(book.getId(), book.getName(), category.name(), null));
     }
 
     @PostMapping("/saveByAuthor")
-    public BookResponse save(@RequestBody Book book, @RequestParam long categoryId, @RequestParam long authorId) {
-        Category category = categoryService.findById(categoryId);
-        book.setCategory(category);
-        category.addBook(book);
-        Author author = authorService.findById(authorId);
-        book.setAuthor(author);
-        author.addBook(book);
+    public ResponseEntity<?> save(@RequestBody Book book, @RequestParam long categoryId, @RequestParam long authorId) {
+        if (bookWriteBehindService.isEnabled()) {
+            return accepted(new BookRequest(book.getName(), categoryId, authorId));
+        }
+        CategoryResponse category = categoryService.findResponseById(categoryId);
+        AuthorResponse author = authorService.findResponseById(authorId);
+        book.setCategory(categoryService.getReferenceById(categoryId));
+        book.setAuthor(authorService.getReferenceById(authorId));
 
         bookService.save(book);
 
-        return new BookResponse(book.getId(), book.getName(), book.getCategory().getName(),
-                new AuthorResponse(author.getId(), author.getFirstName() + " " + author.getLastName()));
+        return ResponseEntity.ok(new BookResponse(book.getId(), book.getName(), category.name(), author));
+    }
+
+    @GetMapping("/writes/{trackingId}")
+    public BookWriteResponse findWriteStatus(@PathVariable String trackingId) {
+        return bookWriteBehindService.findStatus(trackingId);
+    }
+
+    @PostMapping("/batch")
+    public List<BookResponse> saveAll(@RequestBody List<BookRequest> bookRequests) {
+        Map<Long, CategoryResponse> categories = new HashMap<>();
+        Map<Long, AuthorResponse> authors = new HashMap<>();
+        List<Book> books = new ArrayList<>(bookRequests.size());
+        for (BookRequest bookRequest : bookRequests) {
+            categories.computeIfAbsent(bookRequest.categoryId(), categoryService::findResponseById);
+            Book book = new Book();
+            book.setName(bookRequest.name());
+            book.setCategory(categoryService.getReferenceById(bookRequest.categoryId()));
+            if (bookRequest.authorId() != null) {
+                authors.computeIfAbsent(bookRequest.authorId(), authorService::findResponseById);
+                book.setAuthor(authorService.getReferenceById(bookRequest.authorId()));
+            }
+            books.add(book);
+        }
+
+        bookService.saveAll(books);
+
+        List<BookResponse> responseList = new ArrayList<>(books.size());
+        for (int i = 0; i < books.size(); i++) {
+            BookRequest bookRequest = bookRequests.get(i);
+            Book book = books.get(i);
+            responseList.add(new BookResponse(book.getId(), book.getName(), categories.get(bookRequest.categoryId()).name(),
+                    bookRequest.authorId() == null ? null : authors.get(bookRequest.authorId())));
+        }
+        return responseList;
+    }
+
+    @GetMapping("/byAuthor")
+    public BookPageResponse findByAuthor(@RequestParam long authorId, @RequestParam(defaultValue = "0") long afterId,
+                                         @RequestParam(defaultValue = "20") int size) {
+        int pageSize = pageSize(size);
+        return toPage(bookService.findByAuthorId(authorId, afterId, pageSize), pageSize);
+    }
+
+    @GetMapping("/byCategory")
+    public BookPageResponse findByCategory(@RequestParam long categoryId, @RequestParam(defaultValue = "0") long afterId,
+                                           @RequestParam(defaultValue = "20") int size) {
+        int pageSize = pageSize(size);
+        return toPage(bookService.findByCategoryId(categoryId, afterId, pageSize), pageSize);
+    }
+
+    @GetMapping("/search")
+    public BookSearchResponse search(@RequestParam String q, @RequestParam(required = false) Double afterRank,
+                                     @RequestParam(defaultValue = "0") long afterId, @RequestParam(defaultValue = "20") int size) {
+        int pageSize = pageSize(size);
+        List<BookSearchResult> results = bookSearchService.search(q, afterRank, afterId, pageSize);
+        if (results.size() < pageSize) {
+            return new BookSearchResponse(results, null, null);
+        }
+        BookSearchResult last = results.get(results.size() - 1);
+        return new BookSearchResponse(results, last.rank(), last.book().id());
+    }
+
+    @PostMapping(value = "/import", consumes = "application/x-ndjson")
+    public ImportResponse importNdjson(InputStream inputStream) {
+        return importService.importBooks(inputStream);
+    }
+
+    private ResponseEntity<BookWriteResponse> accepted(BookRequest bookRequest) {
+        BookWriteResponse response = bookWriteBehindService.enqueue(bookRequest);
+        return ResponseEntity.accepted()
+                .location(ServletUriComponentsBuilder.fromCurrentContextPath()
+                        .path("/book/writes/{trackingId}").buildAndExpand(response.trackingId()).toUri())
+                .body(response);
+    }
+
+    private static int pageSize(int size) {
+        return Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+    }
+
+    private static BookPageResponse toPage(List<BookResponse> responseList, int pageSize) {
+        Long nextAfterId = responseList.size() < pageSize ? null : responseList.get(responseList.size() - 1).id();
+        return new BookPageResponse(responseList, nextAfterId);
     }
 
 }
@@ -0,0 +1,136 @@
+package com.workintech.s18challenge.controller;
+
+import com.workintech.s18challenge.dto.AuthorResponse;
+import com.workintech.s18challenge.dto.BookNode;
+import com.workintech.s18challenge.dto.CategoryResponse;
+import com.workintech.s18challenge.service.AuthorService;
+import com.workintech.s18challenge.service.BookService;
+import com.workintech.s18challenge.service.CategoryService;
+import graphql.GraphQLError;
+import graphql.GraphqlErrorBuilder;
+import lombok.AllArgsConstructor;
+import org.springframework.graphql.data.method.annotation.Argument;
+import org.springframework.graphql.data.method.annotation.BatchMapping;
+import org.springframework.graphql.data.method.annotation.GraphQlExceptionHandler;
+import org.springframework.graphql.data.method.annotation.QueryMapping;
+import org.springframework.graphql.execution.ErrorType;
+import org.springframework.stereotype.Controller;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@AllArgsConstructor
+@Controller
+public class CatalogGraphQlController {
+
+    private static final int MAX_IDS = 100;
+
+    private static final int MAX_BOOKS_PER_PARENT = 100;
+
+    private final BookService bookService;
+    private final AuthorService authorService;
+    private final CategoryService categoryService;
+
+    @QueryMapping
+    public BookNode book(@Argument long id) {
+        return first(bookService.findNodesById(List.of(id)));
+    }
+
+    @QueryMapping
+    public List<BookNode> books(@Argument List<Long> ids) {
+        checkIds(ids);
+        return bookService.findNodesById(ids);
+    }
+
+    @QueryMapping
+    public AuthorResponse author(@Argument long id) {
+        return first(authorService.findAllById(List.of(id)));
+    }
+
+    @QueryMapping
+    public List<AuthorResponse> authors(@Argument List<Long> ids) {
+        checkIds(ids);
+        return authorService.findAllById(ids);
+    }
+
+    @QueryMapping
+    public CategoryResponse category(@Argument long id) {
+        return first(categoryService.findAllById(List.of(id)));
+    }
+
+    @QueryMapping
+    public List<CategoryResponse> categories(@Argument List<Long> ids) {
+        checkIds(ids);
+        return categoryService.findAllById(ids);
+    }
+
+    @BatchMapping(typeName = "Book", field = "category")
+    public Map<BookNode, CategoryResponse> category(List<BookNode> books) {
+        List<Long> categoryIds = books.stream().map(BookNode::categoryId).filter(Objects::nonNull).toList();
+        Map<Long, CategoryResponse> categories = categoryService.findAllById(categoryIds).stream()
+                .collect(Collectors.toMap(CategoryResponse::id, Function.identity()));
+        return relate(books, book -> categories.get(book.categoryId()));
+    }
+
+    @BatchMapping(typeName = "Book", field = "author")
+    public Map<BookNode, AuthorResponse> author(List<BookNode> books) {
+        List<Long> authorIds = books.stream().map(BookNode::authorId).filter(Objects::nonNull).toList();
+        Map<Long, AuthorResponse> authors = authorService.findAllById(authorIds).stream()
+                .collect(Collectors.toMap(AuthorResponse::id, Function.identity()));
+        return relate(books, book -> authors.get(book.authorId()));
+    }
+
+    @BatchMapping(typeName = "Author", field = "books")
+    public Map<AuthorResponse, List<BookNode>> authorBooks(List<AuthorResponse> authors) {
+        Map<Long, List<BookNode>> books = group(bookService.findNodesByAuthorIds(
+                authors.stream().map(AuthorResponse::id).toList(), MAX_BOOKS_PER_PARENT), BookNode::authorId);
+        return relate(authors, author -> books.getOrDefault(author.id(), List.of()));
+    }
+
+    @BatchMapping(typeName = "Category", field = "books")
+    public Map<CategoryResponse, List<BookNode>> categoryBooks(List<CategoryResponse> categories) {
+        Map<Long, List<BookNode>> books = group(bookService.findNodesByCategoryIds(
+                categories.stream().map(CategoryResponse::id).toList(), MAX_BOOKS_PER_PARENT), BookNode::categoryId);
+        return relate(categories, category -> books.getOrDefault(category.id(), List.of()));
+    }
+
+    @GraphQlExceptionHandler
+    public GraphQLError handle(IllegalArgumentException e) {
+        return GraphqlErrorBuilder.newError().errorType(ErrorType.BAD_REQUEST).message(e.getMessage()).build();
+    }
+
+    private static void checkIds(List<Long> ids) {
+        if (ids.size() > MAX_IDS) {
+            throw new IllegalArgumentException("At most " + MAX_IDS + " ids can be requested at once");
+        }
+    }
+
+    private static <T> T first(List<T> results) {
+        return results.isEmpty() ? null : results.get(0);
+    }
+
+    private static Map<Long, List<BookNode>> group(List<BookNode> books, Function<BookNode, Long> keyOf) {
+        Map<Long, List<BookNode>> grouped = new HashMap<>();
+        for (BookNode book : books) {
+            grouped.computeIfAbsent(keyOf.apply(book), key -> new ArrayList<>()).add(book);
+        }
+        return grouped;
+    }
+
+    private static <K, V> Map<K, V> relate(List<K> sources, Function<K, V> target) {
+        Map<K, V> related = new LinkedHashMap<>();
+        for (K source : sources) {
+            V value = target.apply(source);
+            if (value != null) {
+                related.put(source, value);
+            }
+        }
+        return related;
+    }
+}
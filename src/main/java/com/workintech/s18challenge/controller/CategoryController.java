@@ -1,16 +1,30 @@
 package com.workintech.s18challenge.controller;
 
+import com.workintech.s18challenge.cache.SerializedResponseCache;
 import com.workintech.s18challenge.dto.CategoryResponse;
+import com.workintech.s18challenge.dto.ImportResponse;
 import com.workintech.s18challenge.entity.Category;
 import com.workintech.s18challenge.service.CategoryService;
+import com.workintech.s18challenge.service.ImportService;
 import lombok.AllArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.InputStream;
+import java.util.List;
 
 @AllArgsConstructor
 @RestController
 @RequestMapping("/category")
 public class CategoryController {
+    private static final int MAX_IDS = 100;
+
     private CategoryService categoryService;
+    private ImportService importService;
+    private SerializedResponseCache serializedResponseCache;
 
     @PostMapping
     public CategoryResponse save(@RequestBody Category category) {
@@ -18,9 +32,22 @@ public class CategoryController {
         return new CategoryResponse(savedCategory.getId(), savedCategory.getName());
     }
 
+    @GetMapping(params = "ids")
+    public List<CategoryResponse> findAll(@RequestParam List<Long> ids) {
+        if (ids.size() > MAX_IDS) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "At most " + MAX_IDS + " ids can be requested at once");
+        }
+        return categoryService.findAllById(ids);
+    }
+
     @GetMapping("/{id}")
-    public CategoryResponse get(@PathVariable long id) {
-        Category category = categoryService.findById(id);
-        return new CategoryResponse(category.getId(), category.getName());
+    public ResponseEntity<byte[]> get(@PathVariable long id, WebRequest request) {
+        return serializedResponseCache.respond(SerializedResponseCache.View.CATEGORY, id, request,
+                () -> categoryService.findVersionById(id), () -> categoryService.findResponseById(id));
+    }
+
+    @PostMapping(value = "/import", consumes = "application/x-ndjson")
+    public ImportResponse importNdjson(InputStream inputStream) {
+        return importService.importCategories(inputStream);
     }
 }
@@ -0,0 +1,56 @@
+package com.workintech.s18challenge.controller;
+
+import com.workintech.s18challenge.dto.AuthorResponse;
+import com.workintech.s18challenge.dto.BookResponse;
+import com.workintech.s18challenge.dto.CategoryResponse;
+import com.workintech.s18challenge.repository.ReactiveAuthorRepository;
+import com.workintech.s18challenge.repository.ReactiveBookRepository;
+import com.workintech.s18challenge.repository.ReactiveCategoryRepository;
+import lombok.AllArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@AllArgsConstructor
+@Profile("reactive")
+@RestController
+@RequestMapping("/reactive")
+public class ReactiveReadController {
+
+    private static final int MAX_PAGE_SIZE = 100;
+
+    private final ReactiveCategoryRepository categoryRepository;
+    private final ReactiveAuthorRepository authorRepository;
+    private final ReactiveBookRepository bookRepository;
+
+    @GetMapping("/category/{id}")
+    public Mono<CategoryResponse> getCategory(@PathVariable long id) {
+        return categoryRepository.findResponseById(id)
+                .switchIfEmpty(Mono.error(() -> new RuntimeException("Category is not found with given id: " + id)));
+    }
+
+    @GetMapping("/author/{id}")
+    public Mono<AuthorResponse> getAuthor(@PathVariable long id) {
+        return authorRepository.findResponseById(id)
+                .switchIfEmpty(Mono.error(() -> new RuntimeException("Author with given id is not found:" + id)));
+    }
+
+    @GetMapping("/book/{id}")
+    public Mono<BookResponse> getBook(@PathVariable long id) {
+        return bookRepository.findResponseById(id)
+                .switchIfEmpty(Mono.error(() -> new RuntimeException("Book is not found with given id!")));
+    }
+
+    @GetMapping("/book/byAuthor")
+    public Flux<BookResponse> findByAuthor(@RequestParam long authorId, @RequestParam(defaultValue = "0") long afterId,
+                                           @RequestParam(defaultValue = "20") int size) {
+        return bookRepository.findResponsesByAuthorId(authorId, afterId, Math.max(1, Math.min(size, MAX_PAGE_SIZE)));
+    }
+
+    @GetMapping("/book/byCategory")
+    public Flux<BookResponse> findByCategory(@RequestParam long categoryId, @RequestParam(defaultValue = "0") long afterId,
+                                             @RequestParam(defaultValue = "20") int size) {
+        return bookRepository.findResponsesByCategoryId(categoryId, afterId, Math.max(1, Math.min(size, MAX_PAGE_SIZE)));
+    }
+}
@@ -0,0 +1,4 @@
+package com.workintech.s18challenge.dto;
+
+public record BookNode(long id, String name, Long categoryId, Long authorId) {
+}
@@ -1,4 +1,8 @@
 package com.workintech.s18challenge.dto;
 
 public record BookResponse(long id,String name,String categoryName,AuthorResponse authorResponse) {
+
+    public BookResponse(long id, String name, String categoryName, Long authorId, String authorName) {
+        this(id, name, categoryName, authorId == null ? null : new AuthorResponse(authorId, authorName));
+    }
 }
@@ -0,0 +1,6 @@
+package com.workintech.s18challenge.dto;
+
+import java.util.List;
+
+public record BookSearchResponse(List<BookSearchResult> results, Double nextAfterRank, Long nextAfterId) {
+}
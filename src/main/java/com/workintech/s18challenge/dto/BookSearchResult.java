@@ -0,0 +1,4 @@
+package com.workintech.s18challenge.dto;
+
+public record BookSearchResult(BookResponse book, double rank) {
+}
@@ -0,0 +1,4 @@
+package com.workintech.s18challenge.dto;
+
+public record BookWriteResponse(String trackingId, BookWriteStatus status, Long bookId, String message) {
+}
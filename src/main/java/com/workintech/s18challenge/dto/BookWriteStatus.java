@@ -0,0 +1,7 @@
+package com.workintech.s18challenge.dto;
+
+public enum BookWriteStatus {
+    QUEUED,
+    WRITTEN,
+    FAILED
+}
@@ -0,0 +1,26 @@
+package com.workintech.s18challenge.dto;
+
+import java.time.Instant;
+
+public record CatalogWatermark(long bookCount, Long maxBookId, Instant booksLastModified,
+                               Instant categoriesLastModified, Instant authorsLastModified) {
+
+    public CatalogWatermark withBook(long bookId, Instant lastModified) {
+        return new CatalogWatermark(bookCount, maxBookId == null ? bookId : Math.max(maxBookId, bookId),
+                latest(booksLastModified, lastModified), categoriesLastModified, authorsLastModified);
+    }
+
+    public CatalogWatermark withCategory(Instant lastModified) {
+        return new CatalogWatermark(bookCount, maxBookId, booksLastModified,
+                latest(categoriesLastModified, lastModified), authorsLastModified);
+    }
+
+    public CatalogWatermark withAuthor(Instant lastModified) {
+        return new CatalogWatermark(bookCount, maxBookId, booksLastModified, categoriesLastModified,
+                latest(authorsLastModified, lastModified));
+    }
+
+    private static Instant latest(Instant current, Instant candidate) {
+        return current == null || (candidate != null && candidate.isAfter(current)) ? candidate : current;
+    }
+}
@@ -0,0 +1,32 @@
+package com.workintech.s18challenge.dto;
+
+import java.time.Instant;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+public record EntityVersion(String tag, Instant lastModified) {
+
+    public EntityVersion(long version, Instant lastModified) {
+        this(String.valueOf(version), lastModified);
+    }
+
+    public EntityVersion(long version, Instant lastModified, Long categoryVersion, Instant categoryLastModified,
+                         Long authorVersion, Instant authorLastModified) {
+        this(version + "." + categoryVersion + "." + authorVersion,
+                latest(lastModified, categoryLastModified, authorLastModified));
+    }
+
+    public EntityVersion(long version, Instant lastModified, long bookCount, Instant booksLastModified,
+                         Instant categoriesLastModified) {
+        this(version + "." + bookCount + "." + epochMilli(latest(lastModified, booksLastModified, categoriesLastModified)),
+                latest(lastModified, booksLastModified, categoriesLastModified));
+    }
+
+    private static Instant latest(Instant... instants) {
+        return Stream.of(instants).filter(Objects::nonNull).max(Instant::compareTo).orElse(null);
+    }
+
+    private static long epochMilli(Instant instant) {
+        return instant == null ? 0 : instant.toEpochMilli();
+    }
+}
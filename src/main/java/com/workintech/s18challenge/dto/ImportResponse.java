@@ -0,0 +1,6 @@
+package com.workintech.s18challenge.dto;
+
+import java.util.List;
+
+public record ImportResponse(long records, long batches, long millis, List<ImportStageResponse> stages) {
+}
@@ -0,0 +1,4 @@
+package com.workintech.s18challenge.dto;
+
+public record ImportStageResponse(String stage, long records, long millis, double recordsPerSecond) {
+}
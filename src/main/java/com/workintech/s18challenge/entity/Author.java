@@ -1,20 +1,37 @@
 package com.workintech.s18challenge.entity;
 
+import com.workintech.s18challenge.event.AuthorSavedEvent;
 import jakarta.persistence.*;
-import lombok.Data;
+import lombok.AccessLevel;
+import lombok.Getter;
 import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.OptimisticLock;
+import org.hibernate.annotations.UpdateTimestamp;
+import org.springframework.data.domain.AfterDomainEventPublication;
+import org.springframework.data.domain.DomainEvents;
 
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
 
-@Data
+@Getter
+@Setter
+@ToString
 @NoArgsConstructor
 @Entity
-@Table(name = "author", schema = "fsweb")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@Table(name = "author", schema = "fsweb", indexes =
+        @Index(name = "author_name_idx", columnList = "last_name, first_name"))
 public class Author {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "author_seq")
+    @SequenceGenerator(name = "author_seq", sequenceName = "author_seq", schema = "fsweb", allocationSize = 50)
     @Column(name = "id")
     private long id;
 
@@ -24,6 +41,23 @@ public class Author {
     @Column(name = "last_name")
     private String lastName;
 
+    @Version
+    @Column(name = "version")
+    private long version;
+
+    @UpdateTimestamp
+    @Column(name = "last_modified")
+    private Instant lastModified;
+
+    @Transient
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @ToString.Exclude
+    private boolean created;
+
+    @ToString.Exclude
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+    @OptimisticLock(excluded = true)
     @OneToMany(mappedBy = "author",cascade = CascadeType.ALL)
     private List<Book> books;
 
@@ -34,4 +68,35 @@ public class Author {
         books.add(book);
     }
 
+    @PrePersist
+    void markCreated() {
+        created = true;
+    }
+
+    @DomainEvents
+    List<Object> domainEvents() {
+        return List.of(new AuthorSavedEvent(this, created));
+    }
+
+    @AfterDomainEventPublication
+    void clearCreated() {
+        created = false;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof Author other)) {
+            return false;
+        }
+        return id != 0 && id == other.getId();
+    }
+
+    @Override
+    public int hashCode() {
+        return Author.class.hashCode();
+    }
+
 }
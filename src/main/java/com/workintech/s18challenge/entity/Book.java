@@ -1,32 +1,95 @@
 package com.workintech.s18challenge.entity;
 
+import com.workintech.s18challenge.event.BookSavedEvent;
 import jakarta.persistence.*;
-import lombok.Data;
+import lombok.AccessLevel;
+import lombok.Getter;
 import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.UpdateTimestamp;
+import org.springframework.data.domain.AfterDomainEventPublication;
+import org.springframework.data.domain.DomainEvents;
 
-@Data
+import java.time.Instant;
+import java.util.List;
+
+@Getter
+@Setter
+@ToString
 @NoArgsConstructor
 @Entity
-@Table(name = "book", schema = "fsweb")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@Table(name = "book", schema = "fsweb", indexes = {
+        @Index(name = "book_author_id_idx", columnList = "author_id, id"),
+        @Index(name = "book_category_id_idx", columnList = "category_id, id"),
+        @Index(name = "book_name_idx", columnList = "name")})
 public class Book {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "book_seq")
+    @SequenceGenerator(name = "book_seq", sequenceName = "book_seq", schema = "fsweb", allocationSize = 50)
     private long id;
 
     @Column(name = "name")
     private String name;
 
-    @ManyToOne(cascade = {CascadeType.DETACH, CascadeType.MERGE,
-            CascadeType.PERSIST, CascadeType.REFRESH})
+    @Version
+    @Column(name = "version")
+    private long version;
+
+    @UpdateTimestamp
+    @Column(name = "last_modified")
+    private Instant lastModified;
+
+    @Transient
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @ToString.Exclude
+    private boolean created;
+
+    @ToString.Exclude
+    @ManyToOne(cascade = {CascadeType.DETACH, CascadeType.REFRESH})
     @JoinColumn(name = "category_id")
     private Category category;
 
-    @ManyToOne(cascade = {CascadeType.DETACH, CascadeType.MERGE,
-            CascadeType.PERSIST, CascadeType.REFRESH})
+    @ToString.Exclude
+    @ManyToOne(cascade = {CascadeType.DETACH, CascadeType.REFRESH})
     @JoinColumn(name = "author_id")
     private Author author;
 
+    @PrePersist
+    void markCreated() {
+        created = true;
+    }
+
+    @DomainEvents
+    List<Object> domainEvents() {
+        return List.of(new BookSavedEvent(this, created));
+    }
+
+    @AfterDomainEventPublication
+    void clearCreated() {
+        created = false;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof Book other)) {
+            return false;
+        }
+        return id != 0 && id == other.getId();
+    }
 
+    @Override
+    public int hashCode() {
+        return Book.class.hashCode();
+    }
 
 }
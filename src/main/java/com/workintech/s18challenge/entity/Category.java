@@ -1,24 +1,58 @@
 package com.workintech.s18challenge.entity;
 
-import lombok.Data;
+import com.workintech.s18challenge.event.CategorySavedEvent;
 import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
 import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.OptimisticLock;
+import org.hibernate.annotations.UpdateTimestamp;
+import org.springframework.data.domain.AfterDomainEventPublication;
+import org.springframework.data.domain.DomainEvents;
 
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
 
-@Data
+@Getter
+@Setter
+@ToString
 @NoArgsConstructor
 @Entity
-@Table(name = "category", schema = "fsweb")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@Table(name = "category", schema = "fsweb", indexes =
+        @Index(name = "category_name_idx", columnList = "name"))
 public class Category {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "category_seq")
+    @SequenceGenerator(name = "category_seq", sequenceName = "category_seq", schema = "fsweb", allocationSize = 50)
     private long id;
 
     @Column(name = "name")
     private String name;
 
+    @Version
+    @Column(name = "version")
+    private long version;
+
+    @UpdateTimestamp
+    @Column(name = "last_modified")
+    private Instant lastModified;
+
+    @Transient
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @ToString.Exclude
+    private boolean created;
+
+    @ToString.Exclude
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+    @OptimisticLock(excluded = true)
     @OneToMany(mappedBy = "category", cascade = CascadeType.ALL)
     private List<Book> books;
 
@@ -28,4 +62,35 @@ public class Category {
         }
         books.add(book);
     }
+
+    @PrePersist
+    void markCreated() {
+        created = true;
+    }
+
+    @DomainEvents
+    List<Object> domainEvents() {
+        return List.of(new CategorySavedEvent(this, created));
+    }
+
+    @AfterDomainEventPublication
+    void clearCreated() {
+        created = false;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof Category other)) {
+            return false;
+        }
+        return id != 0 && id == other.getId();
+    }
+
+    @Override
+    public int hashCode() {
+        return Category.class.hashCode();
+    }
 }
@@ -0,0 +1,6 @@
+package com.workintech.s18challenge.event;
+
+import com.workintech.s18challenge.entity.Author;
+
+public record AuthorSavedEvent(Author author, boolean created) {
+}
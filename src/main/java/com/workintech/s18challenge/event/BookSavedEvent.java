@@ -0,0 +1,6 @@
+package com.workintech.s18challenge.event;
+
+import com.workintech.s18challenge.entity.Book;
+
+public record BookSavedEvent(Book book, boolean created) {
+}
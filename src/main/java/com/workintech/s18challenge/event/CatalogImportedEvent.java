@@ -0,0 +1,4 @@
+package com.workintech.s18challenge.event;
+
+public record CatalogImportedEvent(Class<?> recordType, long records) {
+}
@@ -0,0 +1,6 @@
+package com.workintech.s18challenge.event;
+
+import com.workintech.s18challenge.entity.Category;
+
+public record CategorySavedEvent(Category category, boolean created) {
+}
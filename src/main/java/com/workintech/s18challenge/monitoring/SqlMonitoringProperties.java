@@ -0,0 +1,13 @@
+package com.workintech.s18challenge.monitoring;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "sql.monitoring")
+public record SqlMonitoringProperties(@DefaultValue("true") boolean enabled,
+                                      @DefaultValue("25") int statementBudget,
+                                      @DefaultValue("200ms") Duration slowQueryThreshold,
+                                      @DefaultValue("false") boolean responseHeaders) {
+}
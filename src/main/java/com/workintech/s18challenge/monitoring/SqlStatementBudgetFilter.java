@@ -0,0 +1,60 @@
+package com.workintech.s18challenge.monitoring;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+
+@Slf4j
+public class SqlStatementBudgetFilter extends OncePerRequestFilter {
+
+    public static final String STATEMENT_COUNT_HEADER = "X-SQL-Statement-Count";
+    public static final String STATEMENT_TIME_HEADER = "X-SQL-Time-Ms";
+
+    private final SqlMonitoringProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    public SqlStatementBudgetFilter(SqlMonitoringProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        ContentCachingResponseWrapper responseWrapper = properties.responseHeaders() ? new ContentCachingResponseWrapper(response) : null;
+        try (SqlStatementScope scope = SqlStatementScope.open()) {
+            try {
+                filterChain.doFilter(request, responseWrapper == null ? response : responseWrapper);
+            } finally {
+                report(request, scope);
+                if (responseWrapper != null) {
+                    responseWrapper.setHeader(STATEMENT_COUNT_HEADER, String.valueOf(scope.statementCount()));
+                    responseWrapper.setHeader(STATEMENT_TIME_HEADER, String.valueOf(scope.elapsedMillis()));
+                    responseWrapper.copyBodyToResponse();
+                }
+            }
+        }
+    }
+
+    private void report(HttpServletRequest request, SqlStatementScope scope) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern == null ? "UNKNOWN" : pattern.toString();
+        meterRegistry.summary("sql.statements.per.request", "uri", uri).record(scope.statementCount());
+        if (scope.statementCount() > properties.statementBudget()) {
+            meterRegistry.counter("sql.statement.budget.exceeded", "uri", uri).increment();
+            log.warn("{} {} executed {} SQL statements in {} ms, budget is {}", request.getMethod(), request.getRequestURI(),
+                    scope.statementCount(), scope.elapsedMillis(), properties.statementBudget());
+        } else {
+            log.debug("{} {} executed {} SQL statements in {} ms", request.getMethod(), request.getRequestURI(),
+                    scope.statementCount(), scope.elapsedMillis());
+        }
+    }
+}
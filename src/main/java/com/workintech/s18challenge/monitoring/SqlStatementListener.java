@@ -0,0 +1,39 @@
+package com.workintech.s18challenge.monitoring;
+
+import lombok.extern.slf4j.Slf4j;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@Slf4j
+public class SqlStatementListener implements QueryExecutionListener {
+
+    private final ThreadLocal<Long> startedAt = new ThreadLocal<>();
+    private final long slowQueryThresholdMillis;
+
+    public SqlStatementListener(SqlMonitoringProperties properties) {
+        this.slowQueryThresholdMillis = properties.slowQueryThreshold().toMillis();
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        startedAt.set(System.nanoTime());
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        Long started = startedAt.get();
+        startedAt.remove();
+        long elapsedNanos = started != null
+                ? System.nanoTime() - started
+                : TimeUnit.MILLISECONDS.toNanos(execInfo.getElapsedTime());
+        SqlStatementScope.record(elapsedNanos);
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(elapsedNanos);
+        if (elapsedMillis >= slowQueryThresholdMillis && !queryInfoList.isEmpty()) {
+            log.warn("Slow query took {} ms: {}", elapsedMillis, queryInfoList.get(0).getQuery());
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.workintech.s18challenge.monitoring;
+
+import java.util.concurrent.TimeUnit;
+
+public final class SqlStatementScope implements AutoCloseable {
+
+    private static final ThreadLocal<SqlStatementScope> CURRENT = new ThreadLocal<>();
+
+    private final SqlStatementScope parent;
+    private int statementCount;
+    private long elapsedNanos;
+
+    private SqlStatementScope(SqlStatementScope parent) {
+        this.parent = parent;
+    }
+
+    public static SqlStatementScope open() {
+        SqlStatementScope scope = new SqlStatementScope(CURRENT.get());
+        CURRENT.set(scope);
+        return scope;
+    }
+
+    static void record(long elapsedNanos) {
+        for (SqlStatementScope scope = CURRENT.get(); scope != null; scope = scope.parent) {
+            scope.statementCount++;
+            scope.elapsedNanos += elapsedNanos;
+        }
+    }
+
+    public int statementCount() {
+        return statementCount;
+    }
+
+    public long elapsedMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(elapsedNanos);
+    }
+
+    public void assertStatementCountAtMost(int budget) {
+        if (statementCount > budget) {
+            throw new AssertionError("Expected at most " + budget + " SQL statements but " + statementCount + " were executed");
+        }
+    }
+
+    @Override
+    public void close() {
+        if (parent == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(parent);
+        }
+    }
+}
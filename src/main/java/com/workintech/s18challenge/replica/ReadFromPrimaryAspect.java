@@ -0,0 +1,24 @@
+package com.workintech.s18challenge.replica;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+
+@Aspect
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class ReadFromPrimaryAspect {
+
+    @Around("@annotation(com.workintech.s18challenge.replica.ReadFromPrimary)")
+    public Object readFromPrimary(ProceedingJoinPoint joinPoint) throws Throwable {
+        boolean pinned = ReadReplicaRoutingDataSource.pinPrimary();
+        try {
+            return joinPoint.proceed();
+        } finally {
+            if (pinned) {
+                ReadReplicaRoutingDataSource.unpinPrimary();
+            }
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.workintech.s18challenge.replica;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.PriorityOrdered;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+@Configuration
+@EnableConfigurationProperties(ReplicaDataSourceProperties.class)
+@ConditionalOnProperty(prefix = "datasource.replica", name = "enabled")
+public class ReadReplicaConfig {
+
+    @Bean(destroyMethod = "close")
+    public ReplicaDataSourcePool replicaDataSourcePool(ReplicaDataSourceProperties properties,
+                                                       DataSourceProperties dataSourceProperties) {
+        List<DataSource> replicas = new ArrayList<>();
+        for (ReplicaDataSourceProperties.Instance instance : properties.instances()) {
+            HikariDataSource replica = new HikariDataSource();
+            replica.setPoolName("replica-" + replicas.size());
+            replica.setJdbcUrl(instance.url());
+            replica.setUsername(Objects.requireNonNullElse(instance.username(), dataSourceProperties.determineUsername()));
+            replica.setPassword(Objects.requireNonNullElse(instance.password(), dataSourceProperties.determinePassword()));
+            replica.setReadOnly(true);
+            replica.setConnectionTimeout(properties.connectionTimeout().toMillis());
+            replica.setInitializationFailTimeout(-1);
+            replicas.add(replica);
+        }
+        return new ReplicaDataSourcePool(replicas, properties.healthCheckInterval(), properties.connectionTimeout());
+    }
+
+    @Bean
+    public static BeanPostProcessor readReplicaDataSourcePostProcessor(ObjectProvider<ReplicaDataSourcePool> replicas) {
+        return new RoutingPostProcessor(replicas);
+    }
+
+    @Bean
+    public ReadReplicaRoutingFilter readReplicaRoutingFilter() {
+        return new ReadReplicaRoutingFilter();
+    }
+
+    @Bean
+    public ReadFromPrimaryAspect readFromPrimaryAspect() {
+        return new ReadFromPrimaryAspect();
+    }
+
+    private record RoutingPostProcessor(ObjectProvider<ReplicaDataSourcePool> replicas)
+            implements BeanPostProcessor, PriorityOrdered {
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (bean instanceof DataSource dataSource && !(bean instanceof LazyConnectionDataSourceProxy)
+                    && "dataSource".equals(beanName)) {
+                return new RoutingDataSourceProxy(dataSource, replicas.getObject());
+            }
+            return bean;
+        }
+
+        @Override
+        public int getOrder() {
+            return Ordered.HIGHEST_PRECEDENCE;
+        }
+    }
+
+    private static final class RoutingDataSourceProxy extends LazyConnectionDataSourceProxy implements AutoCloseable {
+
+        private final DataSource primary;
+
+        private RoutingDataSourceProxy(DataSource primary, ReplicaDataSourcePool replicas) {
+            super(new ReadReplicaRoutingDataSource(primary, replicas));
+            this.primary = primary;
+        }
+
+        @Override
+        public void close() throws Exception {
+            if (primary instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+}
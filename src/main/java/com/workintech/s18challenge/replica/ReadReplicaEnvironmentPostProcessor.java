@@ -0,0 +1,19 @@
+package com.workintech.s18challenge.replica;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.env.EnvironmentPostProcessor;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.env.MapPropertySource;
+
+import java.util.Map;
+
+public class ReadReplicaEnvironmentPostProcessor implements EnvironmentPostProcessor {
+
+    @Override
+    public void postProcessEnvironment(ConfigurableEnvironment environment, SpringApplication application) {
+        if (environment.getProperty("datasource.replica.enabled", Boolean.class, false)) {
+            environment.getPropertySources().addFirst(
+                    new MapPropertySource("readReplicaRouting", Map.of("spring.jpa.open-in-view", "false")));
+        }
+    }
+}
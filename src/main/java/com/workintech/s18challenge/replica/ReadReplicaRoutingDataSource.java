@@ -0,0 +1,93 @@
+package com.workintech.s18challenge.replica;
+
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.function.Supplier;
+
+public class ReadReplicaRoutingDataSource extends AbstractDataSource {
+
+    private static final ThreadLocal<Boolean> READ_ONLY_REQUEST = new ThreadLocal<>();
+    private static final ThreadLocal<Boolean> PRIMARY_PINNED = new ThreadLocal<>();
+
+    private final DataSource primary;
+    private final ReplicaDataSourcePool replicas;
+
+    public ReadReplicaRoutingDataSource(DataSource primary, ReplicaDataSourcePool replicas) {
+        this.primary = primary;
+        this.replicas = replicas;
+    }
+
+    static void markReadOnlyRequest() {
+        READ_ONLY_REQUEST.set(Boolean.TRUE);
+    }
+
+    static void clearReadOnlyRequest() {
+        READ_ONLY_REQUEST.remove();
+    }
+
+    public static <T> T readFromPrimary(Supplier<T> read) {
+        boolean pinned = pinPrimary();
+        try {
+            return read.get();
+        } finally {
+            if (pinned) {
+                unpinPrimary();
+            }
+        }
+    }
+
+    static boolean pinPrimary() {
+        if (Boolean.TRUE.equals(PRIMARY_PINNED.get())) {
+            return false;
+        }
+        PRIMARY_PINNED.set(Boolean.TRUE);
+        return true;
+    }
+
+    static void unpinPrimary() {
+        PRIMARY_PINNED.remove();
+    }
+
+    static boolean routesToReplica() {
+        if (Boolean.TRUE.equals(PRIMARY_PINNED.get())) {
+            return false;
+        }
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+        }
+        return Boolean.TRUE.equals(READ_ONLY_REQUEST.get());
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (routesToReplica()) {
+            for (DataSource replica = replicas.next(); replica != null; replica = replicas.next()) {
+                try {
+                    return replica.getConnection();
+                } catch (SQLException e) {
+                    replicas.markUnhealthy(replica, e);
+                }
+            }
+        }
+        return primary.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return primary.getConnection(username, password);
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        return iface.isInstance(this) ? iface.cast(this) : primary.unwrap(iface);
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) throws SQLException {
+        return iface.isInstance(this) || primary.isWrapperFor(iface);
+    }
+}
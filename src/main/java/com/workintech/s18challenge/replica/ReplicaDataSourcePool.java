@@ -0,0 +1,89 @@
+package com.workintech.s18challenge.replica;
+
+import lombok.extern.slf4j.Slf4j;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+@Slf4j
+public class ReplicaDataSourcePool implements AutoCloseable {
+
+    private final List<DataSource> replicas;
+    private final AtomicIntegerArray healthy;
+    private final AtomicInteger next = new AtomicInteger();
+    private final int validationTimeoutSeconds;
+    private final ScheduledExecutorService healthChecker;
+
+    public ReplicaDataSourcePool(List<DataSource> replicas, Duration healthCheckInterval, Duration validationTimeout) {
+        this.replicas = List.copyOf(replicas);
+        this.healthy = new AtomicIntegerArray(replicas.size());
+        this.validationTimeoutSeconds = (int) Math.max(1, validationTimeout.toSeconds());
+        checkHealth();
+        this.healthChecker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "replica-health-check");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long intervalMillis = healthCheckInterval.toMillis();
+        healthChecker.scheduleWithFixedDelay(this::checkHealth, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    public DataSource next() {
+        int size = replicas.size();
+        for (int attempt = 0; attempt < size; attempt++) {
+            int index = Math.floorMod(next.getAndIncrement(), size);
+            if (healthy.get(index) == 1) {
+                return replicas.get(index);
+            }
+        }
+        return null;
+    }
+
+    public int healthyCount() {
+        int count = 0;
+        for (int i = 0; i < replicas.size(); i++) {
+            count += healthy.get(i);
+        }
+        return count;
+    }
+
+    public void markUnhealthy(DataSource replica, SQLException e) {
+        int index = replicas.indexOf(replica);
+        if (index >= 0 && healthy.getAndSet(index, 0) == 1) {
+            log.warn("Replica {} taken out of rotation: {}", index, e.getMessage());
+        }
+    }
+
+    public void checkHealth() {
+        for (int i = 0; i < replicas.size(); i++) {
+            boolean valid;
+            try (Connection connection = replicas.get(i).getConnection()) {
+                valid = connection.isValid(validationTimeoutSeconds);
+            } catch (SQLException e) {
+                valid = false;
+            }
+            int previous = healthy.getAndSet(i, valid ? 1 : 0);
+            if (previous != (valid ? 1 : 0)) {
+                log.info("Replica {} is {}", i, valid ? "back in rotation" : "out of rotation");
+            }
+        }
+    }
+
+    @Override
+    public void close() throws Exception {
+        healthChecker.shutdownNow();
+        for (DataSource replica : replicas) {
+            if (replica instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+}
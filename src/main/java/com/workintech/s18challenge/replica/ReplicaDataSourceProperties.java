@@ -0,0 +1,17 @@
+package com.workintech.s18challenge.replica;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.List;
+
+@ConfigurationProperties(prefix = "datasource.replica")
+public record ReplicaDataSourceProperties(@DefaultValue("false") boolean enabled,
+                                          @DefaultValue List<Instance> instances,
+                                          @DefaultValue("10s") Duration healthCheckInterval,
+                                          @DefaultValue("2s") Duration connectionTimeout) {
+
+    public record Instance(String url, String username, String password) {
+    }
+}
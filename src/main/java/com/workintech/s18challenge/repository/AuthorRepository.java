@@ -1,7 +1,31 @@
 package com.workintech.s18challenge.repository;
 
+import com.workintech.s18challenge.dto.AuthorResponse;
+import com.workintech.s18challenge.dto.EntityVersion;
 import com.workintech.s18challenge.entity.Author;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 
 public interface AuthorRepository extends JpaRepository<Author, Long> {
+
+    @Query("SELECT new com.workintech.s18challenge.dto.AuthorResponse(a.id, CONCAT(a.firstName, ' ', a.lastName)) FROM Author a WHERE a.id = :id")
+    Optional<AuthorResponse> findResponseById(long id);
+
+    @Query("SELECT new com.workintech.s18challenge.dto.AuthorResponse(a.id, CONCAT(a.firstName, ' ', a.lastName)) FROM Author a WHERE a.id IN :ids")
+    List<AuthorResponse> findResponsesByIdIn(Collection<Long> ids);
+
+    @Query("SELECT new com.workintech.s18challenge.dto.EntityVersion(a.version, a.lastModified) FROM Author a WHERE a.id = :id")
+    Optional<EntityVersion> findVersionById(long id);
+
+    @Query("SELECT new com.workintech.s18challenge.dto.EntityVersion(a.version, a.lastModified, COUNT(b), MAX(b.lastModified), MAX(c.lastModified)) " +
+            "FROM Author a LEFT JOIN a.books b LEFT JOIN b.category c WHERE a.id = :id GROUP BY a.id, a.version, a.lastModified")
+    Optional<EntityVersion> findBooksVersionById(long id);
+
+    @EntityGraph(attributePaths = {"books", "books.category"})
+    Optional<Author> findWithBooksById(long id);
 }
@@ -1,7 +1,62 @@
 package com.workintech.s18challenge.repository;
 
+import com.workintech.s18challenge.dto.BookNode;
+import com.workintech.s18challenge.dto.BookResponse;
+import com.workintech.s18challenge.dto.CatalogWatermark;
+import com.workintech.s18challenge.dto.EntityVersion;
 import com.workintech.s18challenge.entity.Book;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 
 public interface BookRepository extends JpaRepository<Book, Long> {
+
+    @Query("SELECT new com.workintech.s18challenge.dto.BookResponse(b.id, b.name, c.name, a.id, CONCAT(a.firstName, ' ', a.lastName)) " +
+            "FROM Book b LEFT JOIN b.category c LEFT JOIN b.author a WHERE b.id = :id")
+    Optional<BookResponse> findResponseById(long id);
+
+    @Query("SELECT new com.workintech.s18challenge.dto.BookResponse(b.id, b.name, c.name, a.id, CONCAT(a.firstName, ' ', a.lastName)) " +
+            "FROM Book b LEFT JOIN b.category c LEFT JOIN b.author a WHERE b.id IN :ids")
+    List<BookResponse> findResponsesByIdIn(Collection<Long> ids);
+
+    @Query("SELECT new com.workintech.s18challenge.dto.BookNode(b.id, b.name, b.category.id, b.author.id) FROM Book b WHERE b.id IN :ids")
+    List<BookNode> findNodesByIdIn(Collection<Long> ids);
+
+    @Query("SELECT new com.workintech.s18challenge.dto.BookNode(r.id, r.name, r.categoryId, r.authorId) " +
+            "FROM (SELECT b.id AS id, b.name AS name, b.category.id AS categoryId, b.author.id AS authorId, " +
+            "ROW_NUMBER() OVER (PARTITION BY b.author.id ORDER BY b.id) AS position " +
+            "FROM Book b WHERE b.author.id IN :authorIds) r WHERE r.position <= :limit ORDER BY r.id")
+    List<BookNode> findNodesByAuthorIdIn(Collection<Long> authorIds, int limit);
+
+    @Query("SELECT new com.workintech.s18challenge.dto.BookNode(r.id, r.name, r.categoryId, r.authorId) " +
+            "FROM (SELECT b.id AS id, b.name AS name, b.category.id AS categoryId, b.author.id AS authorId, " +
+            "ROW_NUMBER() OVER (PARTITION BY b.category.id ORDER BY b.id) AS position " +
+            "FROM Book b WHERE b.category.id IN :categoryIds) r WHERE r.position <= :limit ORDER BY r.id")
+    List<BookNode> findNodesByCategoryIdIn(Collection<Long> categoryIds, int limit);
+
+    @Query("SELECT new com.workintech.s18challenge.dto.EntityVersion(b.version, b.lastModified, c.version, c.lastModified, a.version, a.lastModified) " +
+            "FROM Book b LEFT JOIN b.category c LEFT JOIN b.author a WHERE b.id = :id")
+    Optional<EntityVersion> findVersionById(long id);
+
+    @Query("SELECT new com.workintech.s18challenge.dto.BookResponse(b.id, b.name, c.name, a.id, CONCAT(a.firstName, ' ', a.lastName)) " +
+            "FROM Book b LEFT JOIN b.category c LEFT JOIN b.author a")
+    List<BookResponse> findAllResponses();
+
+    @Query("SELECT new com.workintech.s18challenge.dto.CatalogWatermark(COUNT(b), MAX(b.id), MAX(b.lastModified), " +
+            "(SELECT MAX(c.lastModified) FROM Category c), (SELECT MAX(a.lastModified) FROM Author a)) FROM Book b")
+    CatalogWatermark findWatermark();
+
+    @Query("SELECT new com.workintech.s18challenge.dto.BookResponse(b.id, b.name, c.name, a.id, CONCAT(a.firstName, ' ', a.lastName)) " +
+            "FROM Book b LEFT JOIN b.category c LEFT JOIN b.author a " +
+            "WHERE b.author.id = :authorId AND b.id > :afterId ORDER BY b.id")
+    List<BookResponse> findResponsesByAuthorId(long authorId, long afterId, Limit limit);
+
+    @Query("SELECT new com.workintech.s18challenge.dto.BookResponse(b.id, b.name, c.name, a.id, CONCAT(a.firstName, ' ', a.lastName)) " +
+            "FROM Book b LEFT JOIN b.category c LEFT JOIN b.author a " +
+            "WHERE b.category.id = :categoryId AND b.id > :afterId ORDER BY b.id")
+    List<BookResponse> findResponsesByCategoryId(long categoryId, long afterId, Limit limit);
 }
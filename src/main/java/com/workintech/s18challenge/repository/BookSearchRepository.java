@@ -0,0 +1,9 @@
+package com.workintech.s18challenge.repository;
+
+import com.workintech.s18challenge.dto.BookSearchResult;
+
+import java.util.List;
+
+public interface BookSearchRepository {
+    List<BookSearchResult> search(String query, double afterRank, long afterId, int size);
+}
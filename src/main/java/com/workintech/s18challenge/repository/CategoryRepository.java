@@ -1,7 +1,23 @@
 package com.workintech.s18challenge.repository;
 
+import com.workintech.s18challenge.dto.CategoryResponse;
+import com.workintech.s18challenge.dto.EntityVersion;
 import com.workintech.s18challenge.entity.Category;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 
 public interface CategoryRepository extends JpaRepository<Category, Long> {
+
+    @Query("SELECT new com.workintech.s18challenge.dto.CategoryResponse(c.id, c.name) FROM Category c WHERE c.id = :id")
+    Optional<CategoryResponse> findResponseById(long id);
+
+    @Query("SELECT new com.workintech.s18challenge.dto.CategoryResponse(c.id, c.name) FROM Category c WHERE c.id IN :ids")
+    List<CategoryResponse> findResponsesByIdIn(Collection<Long> ids);
+
+    @Query("SELECT new com.workintech.s18challenge.dto.EntityVersion(c.version, c.lastModified) FROM Category c WHERE c.id = :id")
+    Optional<EntityVersion> findVersionById(long id);
 }
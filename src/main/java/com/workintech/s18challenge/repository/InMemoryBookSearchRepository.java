@@ -0,0 +1,114 @@
+package com.workintech.s18challenge.repository;
+
+import com.workintech.s18challenge.dto.BookResponse;
+import com.workintech.s18challenge.dto.BookSearchResult;
+import com.workintech.s18challenge.event.AuthorSavedEvent;
+import com.workintech.s18challenge.event.BookSavedEvent;
+import com.workintech.s18challenge.event.CatalogImportedEvent;
+import com.workintech.s18challenge.event.CategorySavedEvent;
+import com.workintech.s18challenge.search.Trigrams;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+@ConditionalOnProperty(name = "search.engine", havingValue = "memory")
+@Repository
+public class InMemoryBookSearchRepository implements BookSearchRepository {
+
+    private static final Comparator<BookSearchResult> RANK_ORDER = Comparator
+            .comparingDouble(BookSearchResult::rank).reversed()
+            .thenComparingLong(result -> result.book().id());
+
+    private final BookRepository bookRepository;
+    private final Map<Long, Document> documents = new ConcurrentHashMap<>();
+    private volatile boolean loaded;
+
+    public InMemoryBookSearchRepository(BookRepository bookRepository) {
+        this.bookRepository = bookRepository;
+    }
+
+    @Override
+    public List<BookSearchResult> search(String query, double afterRank, long afterId, int size) {
+        List<String> queryWords = Trigrams.words(query);
+        if (queryWords.isEmpty()) {
+            return List.of();
+        }
+        Set<String> queryTrigrams = Trigrams.of(query);
+
+        List<BookSearchResult> results = new ArrayList<>();
+        for (Document document : documents()) {
+            BookResponse book = document.book();
+            double prefixMatch = Trigrams.prefixMatch(queryWords, document.words());
+            double similarity = Math.max(Trigrams.similarity(document.nameTrigrams(), queryTrigrams),
+                    Trigrams.similarity(document.authorTrigrams(), queryTrigrams));
+            if (prefixMatch < 1 && similarity < Trigrams.SIMILARITY_THRESHOLD) {
+                continue;
+            }
+            double rank = 2 * prefixMatch + similarity;
+            if (rank < afterRank || (rank == afterRank && book.id() > afterId)) {
+                results.add(new BookSearchResult(book, rank));
+            }
+        }
+        results.sort(RANK_ORDER);
+        return results.size() > size ? results.subList(0, size) : results;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onBookSaved(BookSavedEvent event) {
+        if (loaded) {
+            bookRepository.findResponseById(event.book().getId()).ifPresent(this::index);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onAuthorSaved(AuthorSavedEvent event) {
+        if (loaded) {
+            bookRepository.findResponsesByAuthorId(event.author().getId(), 0, Limit.unlimited()).forEach(this::index);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onCategorySaved(CategorySavedEvent event) {
+        if (loaded) {
+            bookRepository.findResponsesByCategoryId(event.category().getId(), 0, Limit.unlimited()).forEach(this::index);
+        }
+    }
+
+    @EventListener
+    public void onCatalogImported(CatalogImportedEvent event) {
+        loaded = false;
+    }
+
+    private Collection<Document> documents() {
+        if (!loaded) {
+            synchronized (this) {
+                if (!loaded) {
+                    documents.clear();
+                    bookRepository.findAllResponses().forEach(this::index);
+                    loaded = true;
+                }
+            }
+        }
+        return documents.values();
+    }
+
+    private void index(BookResponse book) {
+        String authorName = book.authorResponse() == null ? "" : book.authorResponse().authorName();
+        List<String> words = new ArrayList<>(Trigrams.words(book.name()));
+        words.addAll(Trigrams.words(authorName));
+        documents.put(book.id(), new Document(book, words, Trigrams.of(book.name()), Trigrams.of(authorName)));
+    }
+
+    private record Document(BookResponse book, List<String> words, Set<String> nameTrigrams, Set<String> authorTrigrams) {
+    }
+}
@@ -0,0 +1,22 @@
+package com.workintech.s18challenge.repository;
+
+import com.workintech.s18challenge.dto.BookSearchResult;
+import com.workintech.s18challenge.search.CatalogIndex;
+import lombok.AllArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@AllArgsConstructor
+@ConditionalOnProperty(name = "search.engine", havingValue = "index")
+@Repository
+public class IndexBookSearchRepository implements BookSearchRepository {
+
+    private final CatalogIndex catalogIndex;
+
+    @Override
+    public List<BookSearchResult> search(String query, double afterRank, long afterId, int size) {
+        return catalogIndex.search(query, afterRank, afterId, size);
+    }
+}
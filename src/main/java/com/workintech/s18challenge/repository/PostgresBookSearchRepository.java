@@ -0,0 +1,69 @@
+package com.workintech.s18challenge.repository;
+
+import com.workintech.s18challenge.dto.BookResponse;
+import com.workintech.s18challenge.dto.BookSearchResult;
+import com.workintech.s18challenge.search.Trigrams;
+import lombok.AllArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@AllArgsConstructor
+@ConditionalOnProperty(name = "search.engine", havingValue = "postgres", matchIfMissing = true)
+@Repository
+public class PostgresBookSearchRepository implements BookSearchRepository {
+
+    private static final String SEARCH_SQL = """
+            WITH matched_authors AS (
+                SELECT a.id FROM fsweb.author a
+                WHERE a.first_name % :query OR a.last_name % :query
+                   OR to_tsvector('simple', coalesce(a.first_name, '') || ' ' || coalesce(a.last_name, '')) @@ to_tsquery('simple', :tsQuery)
+            ), candidates AS (
+                SELECT b.id FROM fsweb.book b
+                WHERE to_tsvector('simple', b.name) @@ to_tsquery('simple', :tsQuery) OR b.name % :query
+                UNION
+                SELECT b.id FROM fsweb.book b JOIN matched_authors ma ON ma.id = b.author_id
+            ), ranked AS (
+                SELECT b.id, b.name, c.name AS category_name, a.id AS author_id, a.first_name, a.last_name,
+                       2 * ts_rank(to_tsvector('simple', b.name || ' ' || coalesce(a.first_name, '') || ' ' || coalesce(a.last_name, '')),
+                                   to_tsquery('simple', :tsQuery))
+                       + greatest(similarity(b.name, :query),
+                                  similarity(coalesce(a.first_name, '') || ' ' || coalesce(a.last_name, ''), :query)) AS rank
+                FROM candidates
+                JOIN fsweb.book b ON b.id = candidates.id
+                LEFT JOIN fsweb.category c ON c.id = b.category_id
+                LEFT JOIN fsweb.author a ON a.id = b.author_id
+            )
+            SELECT * FROM ranked
+            WHERE rank < :afterRank OR (rank = :afterRank AND id > :afterId)
+            ORDER BY rank DESC, id
+            LIMIT :size
+            """;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Override
+    public List<BookSearchResult> search(String query, double afterRank, long afterId, int size) {
+        List<String> words = Trigrams.words(query);
+        if (words.isEmpty()) {
+            return List.of();
+        }
+        MapSqlParameterSource parameters = new MapSqlParameterSource()
+                .addValue("query", String.join(" ", words))
+                .addValue("tsQuery", String.join(" & ", words.stream().map(word -> word + ":*").toList()))
+                .addValue("afterRank", afterRank)
+                .addValue("afterId", afterId)
+                .addValue("size", size);
+        return jdbcTemplate.query(SEARCH_SQL, parameters, (resultSet, rowNum) -> {
+            long authorId = resultSet.getLong("author_id");
+            boolean hasAuthor = !resultSet.wasNull();
+            BookResponse book = new BookResponse(resultSet.getLong("id"), resultSet.getString("name"),
+                    resultSet.getString("category_name"), hasAuthor ? authorId : null,
+                    hasAuthor ? resultSet.getString("first_name") + " " + resultSet.getString("last_name") : null);
+            return new BookSearchResult(book, resultSet.getDouble("rank"));
+        });
+    }
+}
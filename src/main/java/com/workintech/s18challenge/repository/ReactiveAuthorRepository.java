@@ -0,0 +1,24 @@
+package com.workintech.s18challenge.repository;
+
+import com.workintech.s18challenge.dto.AuthorResponse;
+import lombok.AllArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+@AllArgsConstructor
+@Profile("reactive")
+@Repository
+public class ReactiveAuthorRepository {
+
+    private final DatabaseClient databaseClient;
+
+    public Mono<AuthorResponse> findResponseById(long id) {
+        return databaseClient.sql("SELECT id, first_name, last_name FROM fsweb.author WHERE id = :id")
+                .bind("id", id)
+                .map(row -> new AuthorResponse(row.get("id", Long.class),
+                        row.get("first_name", String.class) + " " + row.get("last_name", String.class)))
+                .one();
+    }
+}
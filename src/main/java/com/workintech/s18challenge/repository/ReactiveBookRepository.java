@@ -0,0 +1,54 @@
+package com.workintech.s18challenge.repository;
+
+import com.workintech.s18challenge.dto.BookResponse;
+import io.r2dbc.spi.Readable;
+import lombok.AllArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@AllArgsConstructor
+@Profile("reactive")
+@Repository
+public class ReactiveBookRepository {
+
+    private static final String SELECT_BOOK_RESPONSE = "SELECT b.id, b.name, c.name AS category_name, " +
+            "a.id AS author_id, a.first_name, a.last_name FROM fsweb.book b " +
+            "LEFT JOIN fsweb.category c ON c.id = b.category_id LEFT JOIN fsweb.author a ON a.id = b.author_id ";
+
+    private final DatabaseClient databaseClient;
+
+    public Mono<BookResponse> findResponseById(long id) {
+        return databaseClient.sql(SELECT_BOOK_RESPONSE + "WHERE b.id = :id")
+                .bind("id", id)
+                .map(ReactiveBookRepository::toBookResponse)
+                .one();
+    }
+
+    public Flux<BookResponse> findResponsesByAuthorId(long authorId, long afterId, int size) {
+        return databaseClient.sql(SELECT_BOOK_RESPONSE + "WHERE b.author_id = :authorId AND b.id > :afterId ORDER BY b.id LIMIT :size")
+                .bind("authorId", authorId)
+                .bind("afterId", afterId)
+                .bind("size", size)
+                .map(ReactiveBookRepository::toBookResponse)
+                .all();
+    }
+
+    public Flux<BookResponse> findResponsesByCategoryId(long categoryId, long afterId, int size) {
+        return databaseClient.sql(SELECT_BOOK_RESPONSE + "WHERE b.category_id = :categoryId AND b.id > :afterId ORDER BY b.id LIMIT :size")
+                .bind("categoryId", categoryId)
+                .bind("afterId", afterId)
+                .bind("size", size)
+                .map(ReactiveBookRepository::toBookResponse)
+                .all();
+    }
+
+    private static BookResponse toBookResponse(Readable row) {
+        Long authorId = row.get("author_id", Long.class);
+        String authorName = authorId == null ? null : row.get("first_name", String.class) + " " + row.get("last_name", String.class);
+        return new BookResponse(row.get("id", Long.class), row.get("name", String.class),
+                row.get("category_name", String.class), authorId, authorName);
+    }
+}
@@ -0,0 +1,23 @@
+package com.workintech.s18challenge.repository;
+
+import com.workintech.s18challenge.dto.CategoryResponse;
+import lombok.AllArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+@AllArgsConstructor
+@Profile("reactive")
+@Repository
+public class ReactiveCategoryRepository {
+
+    private final DatabaseClient databaseClient;
+
+    public Mono<CategoryResponse> findResponseById(long id) {
+        return databaseClient.sql("SELECT id, name FROM fsweb.category WHERE id = :id")
+                .bind("id", id)
+                .map(row -> new CategoryResponse(row.get("id", Long.class), row.get("name", String.class)))
+                .one();
+    }
+}
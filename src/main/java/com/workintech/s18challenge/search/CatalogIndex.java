@@ -0,0 +1,426 @@
+package com.workintech.s18challenge.search;
+
+import com.workintech.s18challenge.dto.BookResponse;
+import com.workintech.s18challenge.dto.BookSearchResult;
+import com.workintech.s18challenge.dto.CatalogWatermark;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.UnaryOperator;
+
+@ConditionalOnProperty(name = "search.engine", havingValue = "index")
+@Component
+public class CatalogIndex {
+
+    private static final int SNAPSHOT_MAGIC = 0x53313849;
+    private static final int SNAPSHOT_VERSION = 2;
+    private static final int WATERMARK_BYTES = 2 * Long.BYTES + 3 * (Long.BYTES + Integer.BYTES);
+    private static final double EXACT_MATCH = 1;
+    private static final double PREFIX_MATCH = 0.5;
+
+    private static final Comparator<BookSearchResult> RANK_ORDER = Comparator
+            .comparingDouble(BookSearchResult::rank).reversed()
+            .thenComparingLong(result -> result.book().id());
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final List<BookResponse> documents = new ArrayList<>();
+    private final Map<Long, Integer> ordinalsById = new HashMap<>();
+    private final NavigableMap<String, PostingList> postings = new TreeMap<>();
+    private final BitSet deleted = new BitSet();
+    private int deletedCount;
+    private CatalogWatermark watermark;
+
+    public void index(BookResponse book) {
+        lock.writeLock().lock();
+        try {
+            indexLocked(book);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void indexAll(Collection<BookResponse> books) {
+        lock.writeLock().lock();
+        try {
+            for (BookResponse book : books) {
+                indexLocked(book);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long bookId) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(bookId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void rebuild(Collection<BookResponse> books, CatalogWatermark watermark) {
+        lock.writeLock().lock();
+        try {
+            clearLocked();
+            for (BookResponse book : books) {
+                indexLocked(book);
+            }
+            this.watermark = watermark;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void advanceWatermark(UnaryOperator<CatalogWatermark> advance) {
+        lock.writeLock().lock();
+        try {
+            if (watermark != null) {
+                watermark = advance.apply(watermark);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public CatalogWatermark watermark() {
+        lock.readLock().lock();
+        try {
+            return watermarkLocked();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return ordinalsById.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<BookSearchResult> search(String query, double afterRank, long afterId, int size) {
+        List<String> queryWords = new ArrayList<>(new LinkedHashSet<>(Trigrams.words(query)));
+        if (queryWords.isEmpty()) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            int[] candidates = null;
+            double[] scores = null;
+            int count = 0;
+            for (String word : queryWords) {
+                PostingList exact = postings.get(word);
+                BitSet matches = new BitSet(documents.size());
+                for (PostingList postingList : postings.subMap(word, true, word + Character.MAX_VALUE, true).values()) {
+                    for (int i = 0; i < postingList.size(); i++) {
+                        matches.set(postingList.get(i));
+                    }
+                }
+                matches.andNot(deleted);
+
+                if (candidates == null) {
+                    candidates = new int[matches.cardinality()];
+                    scores = new double[candidates.length];
+                    for (int ordinal = matches.nextSetBit(0); ordinal >= 0; ordinal = matches.nextSetBit(ordinal + 1)) {
+                        candidates[count] = ordinal;
+                        scores[count] = score(exact, ordinal);
+                        count++;
+                    }
+                } else {
+                    int kept = 0;
+                    for (int i = 0; i < count; i++) {
+                        int ordinal = candidates[i];
+                        if (matches.get(ordinal)) {
+                            candidates[kept] = ordinal;
+                            scores[kept] = scores[i] + score(exact, ordinal);
+                            kept++;
+                        }
+                    }
+                    count = kept;
+                }
+                if (count == 0) {
+                    return List.of();
+                }
+            }
+
+            List<BookSearchResult> results = new ArrayList<>();
+            for (int i = 0; i < count; i++) {
+                BookResponse book = documents.get(candidates[i]);
+                double rank = scores[i] / queryWords.size();
+                if (rank < afterRank || (rank == afterRank && book.id() > afterId)) {
+                    results.add(new BookSearchResult(book, rank));
+                }
+            }
+            results.sort(RANK_ORDER);
+            return results.size() > size ? new ArrayList<>(results.subList(0, size)) : results;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void snapshot(Path path) throws IOException {
+        List<BookResponse> books = new ArrayList<>();
+        List<byte[]> terms = new ArrayList<>();
+        List<int[]> termOrdinals = new ArrayList<>();
+        CatalogWatermark watermark;
+        lock.readLock().lock();
+        try {
+            watermark = watermarkLocked();
+            if (watermark == null) {
+                throw new IllegalStateException("Search index has no watermark until it is rebuilt or loaded");
+            }
+            int[] liveOrdinals = new int[documents.size()];
+            for (int ordinal = 0; ordinal < documents.size(); ordinal++) {
+                liveOrdinals[ordinal] = deleted.get(ordinal) ? -1 : books.size();
+                if (!deleted.get(ordinal)) {
+                    books.add(documents.get(ordinal));
+                }
+            }
+            for (Map.Entry<String, PostingList> posting : postings.entrySet()) {
+                PostingList postingList = posting.getValue();
+                int[] ordinals = new int[postingList.size()];
+                int count = 0;
+                for (int i = 0; i < postingList.size(); i++) {
+                    int ordinal = liveOrdinals[postingList.get(i)];
+                    if (ordinal >= 0) {
+                        ordinals[count++] = ordinal;
+                    }
+                }
+                if (count > 0) {
+                    terms.add(posting.getKey().getBytes(StandardCharsets.UTF_8));
+                    termOrdinals.add(Arrays.copyOf(ordinals, count));
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        List<byte[]> strings = new ArrayList<>(books.size() * 3);
+        long length = 4 * Integer.BYTES + WATERMARK_BYTES;
+        for (BookResponse book : books) {
+            String authorName = book.authorResponse() == null ? null : book.authorResponse().authorName();
+            for (String value : new String[]{book.name(), book.categoryName(), authorName}) {
+                byte[] bytes = value == null ? null : value.getBytes(StandardCharsets.UTF_8);
+                strings.add(bytes);
+                length += Integer.BYTES + (bytes == null ? 0 : bytes.length);
+            }
+            length += 2 * Long.BYTES;
+        }
+        for (int i = 0; i < terms.size(); i++) {
+            length += 2 * Integer.BYTES + terms.get(i).length + (long) termOrdinals.get(i).length * Integer.BYTES;
+        }
+
+        Path temporary = path.resolveSibling(path.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, length);
+            buffer.putInt(SNAPSHOT_MAGIC).putInt(SNAPSHOT_VERSION);
+            writeWatermark(buffer, watermark);
+            buffer.putInt(books.size());
+            int index = 0;
+            for (BookResponse book : books) {
+                buffer.putLong(book.id());
+                buffer.putLong(book.authorResponse() == null ? -1 : book.authorResponse().id());
+                for (int i = 0; i < 3; i++) {
+                    byte[] bytes = strings.get(index++);
+                    buffer.putInt(bytes == null ? -1 : bytes.length);
+                    if (bytes != null) {
+                        buffer.put(bytes);
+                    }
+                }
+            }
+            buffer.putInt(terms.size());
+            for (int i = 0; i < terms.size(); i++) {
+                buffer.putInt(terms.get(i).length).put(terms.get(i));
+                int[] ordinals = termOrdinals.get(i);
+                buffer.putInt(ordinals.length);
+                for (int ordinal : ordinals) {
+                    buffer.putInt(ordinal);
+                }
+            }
+            buffer.force();
+        }
+        Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    public CatalogWatermark watermark(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return readHeader(buffer, path);
+        }
+    }
+
+    public int load(Path path) throws IOException {
+        List<BookResponse> books;
+        Map<String, PostingList> loadedPostings = new HashMap<>();
+        CatalogWatermark loadedWatermark;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            loadedWatermark = readHeader(buffer, path);
+            int count = buffer.getInt();
+            books = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                long id = buffer.getLong();
+                long authorId = buffer.getLong();
+                String name = readString(buffer);
+                String categoryName = readString(buffer);
+                String authorName = readString(buffer);
+                books.add(new BookResponse(id, name, categoryName, authorId < 0 ? null : authorId, authorName));
+            }
+            int termCount = buffer.getInt();
+            for (int i = 0; i < termCount; i++) {
+                String term = readString(buffer);
+                int size = buffer.getInt();
+                PostingList postingList = new PostingList();
+                for (int j = 0; j < size; j++) {
+                    postingList.add(buffer.getInt());
+                }
+                loadedPostings.put(term, postingList);
+            }
+        }
+
+        lock.writeLock().lock();
+        try {
+            clearLocked();
+            for (BookResponse book : books) {
+                ordinalsById.put(book.id(), documents.size());
+                documents.add(book);
+            }
+            postings.putAll(loadedPostings);
+            watermark = loadedWatermark;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        return books.size();
+    }
+
+    private CatalogWatermark watermarkLocked() {
+        if (watermark == null) {
+            return null;
+        }
+        return new CatalogWatermark(ordinalsById.size(), watermark.maxBookId(), watermark.booksLastModified(),
+                watermark.categoriesLastModified(), watermark.authorsLastModified());
+    }
+
+    private void indexLocked(BookResponse book) {
+        removeLocked(book.id());
+        int ordinal = documents.size();
+        documents.add(book);
+        ordinalsById.put(book.id(), ordinal);
+        for (String term : terms(book)) {
+            postings.computeIfAbsent(term, key -> new PostingList()).add(ordinal);
+        }
+    }
+
+    private void removeLocked(long bookId) {
+        Integer ordinal = ordinalsById.remove(bookId);
+        if (ordinal == null) {
+            return;
+        }
+        deleted.set(ordinal);
+        deletedCount++;
+        if (deletedCount > documents.size() / 2) {
+            compactLocked();
+        }
+    }
+
+    private void compactLocked() {
+        List<BookResponse> live = new ArrayList<>(ordinalsById.size());
+        for (int ordinal = 0; ordinal < documents.size(); ordinal++) {
+            if (!deleted.get(ordinal)) {
+                live.add(documents.get(ordinal));
+            }
+        }
+        clearLocked();
+        for (BookResponse book : live) {
+            indexLocked(book);
+        }
+    }
+
+    private void clearLocked() {
+        documents.clear();
+        ordinalsById.clear();
+        postings.clear();
+        deleted.clear();
+        deletedCount = 0;
+    }
+
+    private static Set<String> terms(BookResponse book) {
+        Set<String> terms = new LinkedHashSet<>(Trigrams.words(book.name()));
+        terms.addAll(Trigrams.words(book.categoryName()));
+        if (book.authorResponse() != null) {
+            terms.addAll(Trigrams.words(book.authorResponse().authorName()));
+        }
+        return terms;
+    }
+
+    private static double score(PostingList exact, int ordinal) {
+        return exact != null && exact.contains(ordinal) ? EXACT_MATCH : PREFIX_MATCH;
+    }
+
+    private static CatalogWatermark readHeader(MappedByteBuffer buffer, Path path) throws IOException {
+        if (buffer.getInt() != SNAPSHOT_MAGIC || buffer.getInt() != SNAPSHOT_VERSION) {
+            throw new IOException("Search index snapshot has an unknown format: " + path);
+        }
+        long bookCount = buffer.getLong();
+        long maxBookId = buffer.getLong();
+        return new CatalogWatermark(bookCount, maxBookId < 0 ? null : maxBookId,
+                readInstant(buffer), readInstant(buffer), readInstant(buffer));
+    }
+
+    private static void writeWatermark(MappedByteBuffer buffer, CatalogWatermark watermark) {
+        buffer.putLong(watermark.bookCount());
+        buffer.putLong(watermark.maxBookId() == null ? -1 : watermark.maxBookId());
+        writeInstant(buffer, watermark.booksLastModified());
+        writeInstant(buffer, watermark.categoriesLastModified());
+        writeInstant(buffer, watermark.authorsLastModified());
+    }
+
+    private static void writeInstant(MappedByteBuffer buffer, Instant instant) {
+        buffer.putLong(instant == null ? Long.MIN_VALUE : instant.getEpochSecond());
+        buffer.putInt(instant == null ? 0 : instant.getNano());
+    }
+
+    private static Instant readInstant(MappedByteBuffer buffer) {
+        long seconds = buffer.getLong();
+        int nanos = buffer.getInt();
+        return seconds == Long.MIN_VALUE ? null : Instant.ofEpochSecond(seconds, nanos);
+    }
+
+    private static String readString(MappedByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,110 @@
+package com.workintech.s18challenge.search;
+
+import com.workintech.s18challenge.dto.BookResponse;
+import com.workintech.s18challenge.dto.CatalogWatermark;
+import com.workintech.s18challenge.entity.Author;
+import com.workintech.s18challenge.entity.Book;
+import com.workintech.s18challenge.event.AuthorSavedEvent;
+import com.workintech.s18challenge.event.BookSavedEvent;
+import com.workintech.s18challenge.event.CatalogImportedEvent;
+import com.workintech.s18challenge.event.CategorySavedEvent;
+import com.workintech.s18challenge.repository.BookRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Hibernate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+@Slf4j
+@ConditionalOnProperty(name = "search.engine", havingValue = "index")
+@Component
+public class CatalogIndexUpdater {
+
+    private final CatalogIndex catalogIndex;
+    private final BookRepository bookRepository;
+    private final String snapshotPath;
+
+    public CatalogIndexUpdater(CatalogIndex catalogIndex, BookRepository bookRepository,
+                               @Value("${search.index.snapshot-path:}") String snapshotPath) {
+        this.catalogIndex = catalogIndex;
+        this.bookRepository = bookRepository;
+        this.snapshotPath = snapshotPath;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        if (!snapshotPath.isBlank() && Files.exists(Path.of(snapshotPath))) {
+            try {
+                if (catalogIndex.watermark(Path.of(snapshotPath)).equals(bookRepository.findWatermark())) {
+                    int loaded = catalogIndex.load(Path.of(snapshotPath));
+                    log.info("Loaded {} books into the search index from {}", loaded, snapshotPath);
+                    return;
+                }
+                log.info("Search index snapshot {} is stale, rebuilding", snapshotPath);
+            } catch (IOException e) {
+                log.warn("Search index snapshot could not be read: {}", e.getMessage());
+            }
+        }
+        rebuild();
+    }
+
+    public void rebuild() {
+        CatalogWatermark watermark = bookRepository.findWatermark();
+        catalogIndex.rebuild(bookRepository.findAllResponses(), watermark);
+        log.info("Rebuilt the search index with {} books", catalogIndex.size());
+    }
+
+    @PreDestroy
+    public void snapshot() {
+        if (snapshotPath.isBlank()) {
+            return;
+        }
+        try {
+            catalogIndex.snapshot(Path.of(snapshotPath));
+            log.info("Wrote {} books to search index snapshot {}", catalogIndex.size(), snapshotPath);
+        } catch (IOException | IllegalStateException e) {
+            log.warn("Search index snapshot could not be written: {}", e.getMessage());
+        }
+    }
+
+    @EventListener
+    public void onCatalogImported(CatalogImportedEvent event) {
+        rebuild();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookSaved(BookSavedEvent event) {
+        Book book = event.book();
+        Author author = book.getAuthor();
+        if (!Hibernate.isInitialized(book.getCategory()) || !Hibernate.isInitialized(author)) {
+            bookRepository.findResponseById(book.getId()).ifPresent(catalogIndex::index);
+        } else {
+            catalogIndex.index(new BookResponse(book.getId(), book.getName(),
+                    book.getCategory() == null ? null : book.getCategory().getName(),
+                    author == null ? null : author.getId(),
+                    author == null ? null : author.getFirstName() + " " + author.getLastName()));
+        }
+        catalogIndex.advanceWatermark(watermark -> watermark.withBook(book.getId(), book.getLastModified()));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAuthorSaved(AuthorSavedEvent event) {
+        catalogIndex.indexAll(bookRepository.findResponsesByAuthorId(event.author().getId(), 0, Limit.unlimited()));
+        catalogIndex.advanceWatermark(watermark -> watermark.withAuthor(event.author().getLastModified()));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCategorySaved(CategorySavedEvent event) {
+        catalogIndex.indexAll(bookRepository.findResponsesByCategoryId(event.category().getId(), 0, Limit.unlimited()));
+        catalogIndex.advanceWatermark(watermark -> watermark.withCategory(event.category().getLastModified()));
+    }
+}
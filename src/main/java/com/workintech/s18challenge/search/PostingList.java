@@ -0,0 +1,31 @@
+package com.workintech.s18challenge.search;
+
+import java.util.Arrays;
+
+final class PostingList {
+
+    private int[] ordinals = new int[4];
+    private int size;
+
+    void add(int ordinal) {
+        if (size > 0 && ordinals[size - 1] == ordinal) {
+            return;
+        }
+        if (size == ordinals.length) {
+            ordinals = Arrays.copyOf(ordinals, size * 2);
+        }
+        ordinals[size++] = ordinal;
+    }
+
+    boolean contains(int ordinal) {
+        return Arrays.binarySearch(ordinals, 0, size, ordinal) >= 0;
+    }
+
+    int size() {
+        return size;
+    }
+
+    int get(int index) {
+        return ordinals[index];
+    }
+}
@@ -0,0 +1,68 @@
+package com.workintech.s18challenge.search;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+public final class Trigrams {
+
+    public static final double SIMILARITY_THRESHOLD = 0.3;
+
+    private Trigrams() {
+    }
+
+    public static List<String> words(String text) {
+        List<String> words = new ArrayList<>();
+        if (text == null) {
+            return words;
+        }
+        for (String word : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (!word.isEmpty()) {
+                words.add(word);
+            }
+        }
+        return words;
+    }
+
+    public static Set<String> of(String text) {
+        Set<String> trigrams = new HashSet<>();
+        for (String word : words(text)) {
+            String padded = "  " + word + " ";
+            for (int i = 0; i + 3 <= padded.length(); i++) {
+                trigrams.add(padded.substring(i, i + 3));
+            }
+        }
+        return trigrams;
+    }
+
+    public static double similarity(Set<String> left, Set<String> right) {
+        if (left.isEmpty() || right.isEmpty()) {
+            return 0;
+        }
+        int shared = 0;
+        for (String trigram : left) {
+            if (right.contains(trigram)) {
+                shared++;
+            }
+        }
+        return (double) shared / (left.size() + right.size() - shared);
+    }
+
+    public static double prefixMatch(List<String> queryWords, List<String> words) {
+        if (queryWords.isEmpty()) {
+            return 0;
+        }
+        int matched = 0;
+        for (String queryWord : queryWords) {
+            for (String word : words) {
+                if (word.startsWith(queryWord)) {
+                    matched++;
+                    break;
+                }
+            }
+        }
+        return (double) matched / queryWords.size();
+    }
+}
@@ -1,9 +1,28 @@
 package com.workintech.s18challenge.service;
 
+import com.workintech.s18challenge.dto.AuthorResponse;
+import com.workintech.s18challenge.dto.EntityVersion;
 import com.workintech.s18challenge.entity.Author;
 
+import java.util.Collection;
+import java.util.List;
+
 public interface AuthorService {
     Author findById(long id);
 
+    AuthorResponse findResponseById(long id);
+
+    List<AuthorResponse> findAllById(Collection<Long> ids);
+
+    EntityVersion findVersionById(long id);
+
+    EntityVersion findBooksVersionById(long id);
+
+    Author getReferenceById(long id);
+
+    Author findWithBooksById(long id);
+
     Author save(Author author);
+
+    Author saveWithBook(Author author, long bookId);
 }
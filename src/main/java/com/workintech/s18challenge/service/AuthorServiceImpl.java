@@ -1,20 +1,48 @@
 package com.workintech.s18challenge.service;
 
+import com.workintech.s18challenge.dto.AuthorResponse;
+import com.workintech.s18challenge.dto.EntityVersion;
 import com.workintech.s18challenge.entity.Author;
+import com.workintech.s18challenge.entity.Book;
+import com.workintech.s18challenge.replica.ReadFromPrimary;
 import com.workintech.s18challenge.repository.AuthorRepository;
+import com.workintech.s18challenge.repository.BookRepository;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
+@Timed("s18challenge.service")
 @Service
 public class AuthorServiceImpl implements AuthorService {
 
+    private static final int MAX_IN_FLIGHT_LOOKUPS = 1024;
+
     private final AuthorRepository authorRepository;
 
-    public AuthorServiceImpl(AuthorRepository authorRepository) {
+    private final BookRepository bookRepository;
+
+    private final Cache responseCache;
+
+    private final SingleFlight<Long, Optional<AuthorResponse>> findResponseByIdFlights;
+
+    public AuthorServiceImpl(AuthorRepository authorRepository, BookRepository bookRepository, CacheManager cacheManager,
+                             MeterRegistry meterRegistry) {
         this.authorRepository = authorRepository;
+        this.bookRepository = bookRepository;
+        this.responseCache = cacheManager.getCache("authors");
+        this.findResponseByIdFlights = new SingleFlight<>("author", MAX_IN_FLIGHT_LOOKUPS, meterRegistry);
     }
 
+    @Transactional(readOnly = true)
     @Override
     public Author findById(long id) {
         Optional<Author> authorOptional = authorRepository.findById(id);
@@ -24,8 +52,60 @@ public class AuthorServiceImpl implements AuthorService {
         throw new RuntimeException("Author with given id is not found:" + id);
     }
 
+    @Cacheable("authors")
+    @ReadFromPrimary
+    @Override
+    public AuthorResponse findResponseById(long id) {
+        return findResponseByIdFlights.execute(id, authorRepository::findResponseById)
+                .orElseThrow(() -> new RuntimeException("Author with given id is not found:" + id));
+    }
+
+    @ReadFromPrimary
+    @Override
+    public List<AuthorResponse> findAllById(Collection<Long> ids) {
+        return MultiGet.findAll(ids, responseCache, AuthorResponse.class,
+                authorRepository::findResponsesByIdIn, AuthorResponse::id);
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public EntityVersion findVersionById(long id) {
+        return authorRepository.findVersionById(id)
+                .orElseThrow(() -> new RuntimeException("Author with given id is not found:" + id));
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public EntityVersion findBooksVersionById(long id) {
+        return authorRepository.findBooksVersionById(id)
+                .orElseThrow(() -> new RuntimeException("Author with given id is not found:" + id));
+    }
+
+    @Override
+    public Author getReferenceById(long id) {
+        return authorRepository.getReferenceById(id);
+    }
+
+    @Override
+    public Author findWithBooksById(long id) {
+        return authorRepository.findWithBooksById(id)
+                .orElseThrow(() -> new RuntimeException("Author with given id is not found:" + id));
+    }
+
+    @CacheEvict(cacheNames = "authors", key = "#result.id")
     @Override
     public Author save(Author author) {
         return authorRepository.save(author);
     }
+
+    @CacheEvict(cacheNames = "authors", key = "#result.id")
+    @Transactional
+    @Override
+    public Author saveWithBook(Author author, long bookId) {
+        Book book = bookRepository.findById(bookId)
+                .orElseThrow(() -> new RuntimeException("Book is not found with given id!"));
+        book.setAuthor(author);
+        author.addBook(book);
+        return authorRepository.save(author);
+    }
 }
@@ -0,0 +1,9 @@
+package com.workintech.s18challenge.service;
+
+import com.workintech.s18challenge.dto.BookSearchResult;
+
+import java.util.List;
+
+public interface BookSearchService {
+    List<BookSearchResult> search(String query, Double afterRank, long afterId, int size);
+}
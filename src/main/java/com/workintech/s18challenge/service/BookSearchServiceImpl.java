@@ -0,0 +1,24 @@
+package com.workintech.s18challenge.service;
+
+import com.workintech.s18challenge.dto.BookSearchResult;
+import com.workintech.s18challenge.repository.BookSearchRepository;
+import io.micrometer.core.annotation.Timed;
+import lombok.AllArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+@AllArgsConstructor
+@Timed("s18challenge.service")
+@Service
+public class BookSearchServiceImpl implements BookSearchService {
+
+    private final BookSearchRepository bookSearchRepository;
+
+    @Transactional(readOnly = true)
+    @Override
+    public List<BookSearchResult> search(String query, Double afterRank, long afterId, int size) {
+        return bookSearchRepository.search(query, afterRank == null ? Double.MAX_VALUE : afterRank, afterId, size);
+    }
+}
@@ -1,8 +1,33 @@
 package com.workintech.s18challenge.service;
 
+import com.workintech.s18challenge.dto.BookNode;
+import com.workintech.s18challenge.dto.BookResponse;
+import com.workintech.s18challenge.dto.EntityVersion;
 import com.workintech.s18challenge.entity.Book;
 
+import java.util.Collection;
+import java.util.List;
+
 public interface BookService {
     Book findById(long id);
+
+    BookResponse findResponseById(long id);
+
+    List<BookResponse> findAllById(Collection<Long> ids);
+
+    List<BookNode> findNodesById(Collection<Long> ids);
+
+    List<BookNode> findNodesByAuthorIds(Collection<Long> authorIds, int limitPerAuthor);
+
+    List<BookNode> findNodesByCategoryIds(Collection<Long> categoryIds, int limitPerCategory);
+
+    EntityVersion findVersionById(long id);
+
     Book save(Book book);
+
+    List<Book> saveAll(List<Book> books);
+
+    List<BookResponse> findByAuthorId(long authorId, long afterId, int size);
+
+    List<BookResponse> findByCategoryId(long categoryId, long afterId, int size);
 }
@@ -1,18 +1,28 @@
 package com.workintech.s18challenge.service;
 
+import com.workintech.s18challenge.dto.BookNode;
+import com.workintech.s18challenge.dto.BookResponse;
+import com.workintech.s18challenge.dto.EntityVersion;
 import com.workintech.s18challenge.entity.Book;
 import com.workintech.s18challenge.repository.BookRepository;
+import io.micrometer.core.annotation.Timed;
 import lombok.AllArgsConstructor;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @AllArgsConstructor
+@Timed("s18challenge.service")
 @Service
 public class BookServiceImpl implements BookService {
 
     private final BookRepository bookRepository;
 
+    @Transactional(readOnly = true)
     @Override
     public Book findById(long id) {
         Optional<Book> bookOptional = bookRepository.findById(id);
@@ -22,8 +32,60 @@ public class BookServiceImpl implements BookService {
         throw new RuntimeException("Book is not found with given id!");
     }
 
+    @Transactional(readOnly = true)
+    @Override
+    public BookResponse findResponseById(long id) {
+        return bookRepository.findResponseById(id)
+                .orElseThrow(() -> new RuntimeException("Book is not found with given id!"));
+    }
+
+    @Override
+    public List<BookResponse> findAllById(Collection<Long> ids) {
+        return MultiGet.findAll(ids, null, BookResponse.class, bookRepository::findResponsesByIdIn, BookResponse::id);
+    }
+
+    @Override
+    public List<BookNode> findNodesById(Collection<Long> ids) {
+        return MultiGet.findAll(ids, null, BookNode.class, bookRepository::findNodesByIdIn, BookNode::id);
+    }
+
+    @Override
+    public List<BookNode> findNodesByAuthorIds(Collection<Long> authorIds, int limitPerAuthor) {
+        return MultiGet.findChunked(authorIds, ids -> bookRepository.findNodesByAuthorIdIn(ids, limitPerAuthor));
+    }
+
+    @Override
+    public List<BookNode> findNodesByCategoryIds(Collection<Long> categoryIds, int limitPerCategory) {
+        return MultiGet.findChunked(categoryIds, ids -> bookRepository.findNodesByCategoryIdIn(ids, limitPerCategory));
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public EntityVersion findVersionById(long id) {
+        return bookRepository.findVersionById(id)
+                .orElseThrow(() -> new RuntimeException("Book is not found with given id!"));
+    }
+
     @Override
     public Book save(Book book) {
         return bookRepository.save(book);
     }
+
+    @Transactional
+    @Override
+    public List<Book> saveAll(List<Book> books) {
+        return bookRepository.saveAll(books);
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public List<BookResponse> findByAuthorId(long authorId, long afterId, int size) {
+        return bookRepository.findResponsesByAuthorId(authorId, afterId, Limit.of(size));
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public List<BookResponse> findByCategoryId(long categoryId, long afterId, int size) {
+        return bookRepository.findResponsesByCategoryId(categoryId, afterId, Limit.of(size));
+    }
 }
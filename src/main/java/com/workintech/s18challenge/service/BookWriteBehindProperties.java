@@ -0,0 +1,16 @@
+package com.workintech.s18challenge.service;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "book.write-behind")
+public record BookWriteBehindProperties(@DefaultValue("false") boolean enabled,
+                                        @DefaultValue("10000") int queueCapacity,
+                                        @DefaultValue("500") int batchSize,
+                                        @DefaultValue("50ms") Duration offerTimeout,
+                                        @DefaultValue("30s") Duration drainTimeout,
+                                        @DefaultValue("1h") Duration statusRetention,
+                                        @DefaultValue("100000") long statusMaximumSize) {
+}
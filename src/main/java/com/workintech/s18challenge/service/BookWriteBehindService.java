@@ -0,0 +1,12 @@
+package com.workintech.s18challenge.service;
+
+import com.workintech.s18challenge.dto.BookRequest;
+import com.workintech.s18challenge.dto.BookWriteResponse;
+
+public interface BookWriteBehindService {
+    boolean isEnabled();
+
+    BookWriteResponse enqueue(BookRequest bookRequest);
+
+    BookWriteResponse findStatus(String trackingId);
+}
@@ -0,0 +1,200 @@
+package com.workintech.s18challenge.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.workintech.s18challenge.dto.BookRequest;
+import com.workintech.s18challenge.dto.BookWriteResponse;
+import com.workintech.s18challenge.dto.BookWriteStatus;
+import com.workintech.s18challenge.entity.Author;
+import com.workintech.s18challenge.entity.Book;
+import com.workintech.s18challenge.entity.Category;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+@Slf4j
+@Service
+public class BookWriteBehindServiceImpl implements BookWriteBehindService {
+
+    private final BookWriteBehindProperties properties;
+    private final BookService bookService;
+    private final CategoryService categoryService;
+    private final AuthorService authorService;
+    private final TransactionTemplate transactionTemplate;
+    private final BlockingQueue<PendingWrite> queue;
+    private final Cache<String, BookWriteResponse> statuses;
+    private final Thread writer;
+    private volatile boolean running;
+
+    public BookWriteBehindServiceImpl(BookWriteBehindProperties properties, BookService bookService,
+                                      CategoryService categoryService, AuthorService authorService,
+                                      PlatformTransactionManager transactionManager, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.bookService = bookService;
+        this.categoryService = categoryService;
+        this.authorService = authorService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.queue = new ArrayBlockingQueue<>(properties.queueCapacity());
+        this.statuses = Caffeine.newBuilder()
+                .maximumSize(properties.statusMaximumSize())
+                .expireAfterWrite(properties.statusRetention())
+                .build();
+        meterRegistry.gauge("book.write.queue.size", queue, Collection::size);
+        if (properties.enabled()) {
+            this.writer = new Thread(this::drain, "book-write-behind");
+            this.writer.setDaemon(true);
+            running = true;
+            writer.start();
+        } else {
+            this.writer = null;
+        }
+    }
+
+    private record PendingWrite(String trackingId, BookRequest bookRequest) {
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return properties.enabled();
+    }
+
+    @Override
+    public BookWriteResponse enqueue(BookRequest bookRequest) {
+        if (!running) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Book writes are not accepted right now");
+        }
+        if (bookRequest.name() == null || bookRequest.name().isBlank()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Book name is required");
+        }
+        categoryService.findResponseById(bookRequest.categoryId());
+        if (bookRequest.authorId() != null) {
+            authorService.findResponseById(bookRequest.authorId());
+        }
+
+        BookWriteResponse queued = new BookWriteResponse(UUID.randomUUID().toString(), BookWriteStatus.QUEUED, null, null);
+        PendingWrite pendingWrite = new PendingWrite(queued.trackingId(), bookRequest);
+        statuses.put(queued.trackingId(), queued);
+        try {
+            if (queue.offer(pendingWrite, properties.offerTimeout().toMillis(), TimeUnit.MILLISECONDS)) {
+                if (running || !queue.remove(pendingWrite)) {
+                    return queued;
+                }
+                statuses.invalidate(queued.trackingId());
+                throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Book writes are not accepted right now");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        statuses.invalidate(queued.trackingId());
+        throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Book write queue is full");
+    }
+
+    @Override
+    public BookWriteResponse findStatus(String trackingId) {
+        BookWriteResponse status = statuses.getIfPresent(trackingId);
+        if (status == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Book write is not found with given tracking id: " + trackingId);
+        }
+        return status;
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        if (!running) {
+            return;
+        }
+        running = false;
+        writer.join(properties.drainTimeout().toMillis());
+        if (writer.isAlive()) {
+            log.warn("Shutting down with {} queued book writes not drained", queue.size());
+        } else {
+            log.info("Drained the book write queue");
+        }
+    }
+
+    private void drain() {
+        List<PendingWrite> batch = new ArrayList<>(properties.batchSize());
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingWrite first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, properties.batchSize() - 1);
+                write(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void write(List<PendingWrite> batch) {
+        try {
+            List<Book> books = transactionTemplate.execute(status -> saveAll(batch));
+            for (int i = 0; i < batch.size(); i++) {
+                written(batch.get(i), books.get(i));
+            }
+        } catch (RuntimeException e) {
+            log.warn("Batch of {} queued book writes failed, retrying one by one: {}", batch.size(), e.getMessage());
+            for (PendingWrite pendingWrite : batch) {
+                try {
+                    written(pendingWrite, transactionTemplate.execute(status -> saveAll(List.of(pendingWrite))).get(0));
+                } catch (RuntimeException failure) {
+                    statuses.put(pendingWrite.trackingId(), new BookWriteResponse(pendingWrite.trackingId(),
+                            BookWriteStatus.FAILED, null, failure.getMessage()));
+                }
+            }
+        }
+    }
+
+    private void written(PendingWrite pendingWrite, Book book) {
+        statuses.put(pendingWrite.trackingId(), new BookWriteResponse(pendingWrite.trackingId(),
+                BookWriteStatus.WRITTEN, book.getId(), null));
+    }
+
+    private List<Book> saveAll(List<PendingWrite> batch) {
+        Map<Long, Category> categories = new HashMap<>();
+        Map<Long, Author> authors = new HashMap<>();
+        List<Book> books = new ArrayList<>(batch.size());
+        for (PendingWrite pendingWrite : batch) {
+            BookRequest bookRequest = pendingWrite.bookRequest();
+            Book book = new Book();
+            book.setName(bookRequest.name());
+            book.setCategory(categories.computeIfAbsent(bookRequest.categoryId(), this::categoryReference));
+            if (bookRequest.authorId() != null) {
+                book.setAuthor(authors.computeIfAbsent(bookRequest.authorId(), this::authorReference));
+            }
+            books.add(book);
+        }
+        return bookService.saveAll(books);
+    }
+
+    private Category categoryReference(long categoryId) {
+        categoryService.findResponseById(categoryId);
+        return categoryService.getReferenceById(categoryId);
+    }
+
+    private Author authorReference(long authorId) {
+        authorService.findResponseById(authorId);
+        return authorService.getReferenceById(authorId);
+    }
+}
@@ -1,10 +1,23 @@
 package com.workintech.s18challenge.service;
 
+import com.workintech.s18challenge.dto.CategoryResponse;
+import com.workintech.s18challenge.dto.EntityVersion;
 import com.workintech.s18challenge.entity.Category;
 
+import java.util.Collection;
+import java.util.List;
+
 public interface CategoryService {
     Category findById(long id);
 
+    CategoryResponse findResponseById(long id);
+
+    List<CategoryResponse> findAllById(Collection<Long> ids);
+
+    EntityVersion findVersionById(long id);
+
+    Category getReferenceById(long id);
+
     Category save(Category category);
 
 
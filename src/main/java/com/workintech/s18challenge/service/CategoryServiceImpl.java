@@ -1,18 +1,42 @@
 package com.workintech.s18challenge.service;
 
+import com.workintech.s18challenge.dto.CategoryResponse;
+import com.workintech.s18challenge.dto.EntityVersion;
 import com.workintech.s18challenge.entity.Category;
+import com.workintech.s18challenge.replica.ReadFromPrimary;
 import com.workintech.s18challenge.repository.CategoryRepository;
-import lombok.AllArgsConstructor;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
-@AllArgsConstructor
+@Timed("s18challenge.service")
 @Service
 public class CategoryServiceImpl implements CategoryService {
 
-    private CategoryRepository categoryRepository;
+    private static final int MAX_IN_FLIGHT_LOOKUPS = 1024;
 
+    private final CategoryRepository categoryRepository;
+
+    private final Cache responseCache;
+
+    private final SingleFlight<Long, Optional<CategoryResponse>> findResponseByIdFlights;
+
+    public CategoryServiceImpl(CategoryRepository categoryRepository, CacheManager cacheManager, MeterRegistry meterRegistry) {
+        this.categoryRepository = categoryRepository;
+        this.responseCache = cacheManager.getCache("categories");
+        this.findResponseByIdFlights = new SingleFlight<>("category", MAX_IN_FLIGHT_LOOKUPS, meterRegistry);
+    }
+
+    @Transactional(readOnly = true)
     @Override
     public Category findById(long id) {
         Optional<Category> categoryOptional = categoryRepository.findById(id);
@@ -23,6 +47,34 @@ public class CategoryServiceImpl implements CategoryService {
         throw new RuntimeException("Category is not found with given id: " + id);
     }
 
+    @Cacheable("categories")
+    @ReadFromPrimary
+    @Override
+    public CategoryResponse findResponseById(long id) {
+        return findResponseByIdFlights.execute(id, categoryRepository::findResponseById)
+                .orElseThrow(() -> new RuntimeException("Category is not found with given id: " + id));
+    }
+
+    @ReadFromPrimary
+    @Override
+    public List<CategoryResponse> findAllById(Collection<Long> ids) {
+        return MultiGet.findAll(ids, responseCache, CategoryResponse.class,
+                categoryRepository::findResponsesByIdIn, CategoryResponse::id);
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public EntityVersion findVersionById(long id) {
+        return categoryRepository.findVersionById(id)
+                .orElseThrow(() -> new RuntimeException("Category is not found with given id: " + id));
+    }
+
+    @Override
+    public Category getReferenceById(long id) {
+        return categoryRepository.getReferenceById(id);
+    }
+
+    @CacheEvict(cacheNames = "categories", key = "#result.id")
     @Override
     public Category save(Category category) {
         return categoryRepository.save(category);
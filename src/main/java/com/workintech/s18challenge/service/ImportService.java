@@ -0,0 +1,13 @@
+package com.workintech.s18challenge.service;
+
+import com.workintech.s18challenge.dto.ImportResponse;
+
+import java.io.InputStream;
+
+public interface ImportService {
+    ImportResponse importAuthors(InputStream inputStream);
+
+    ImportResponse importCategories(InputStream inputStream);
+
+    ImportResponse importBooks(InputStream inputStream);
+}
@@ -0,0 +1,131 @@
+package com.workintech.s18challenge.service;
+
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.workintech.s18challenge.dto.BookRequest;
+import com.workintech.s18challenge.dto.ImportResponse;
+import com.workintech.s18challenge.dto.ImportStageResponse;
+import com.workintech.s18challenge.entity.Author;
+import com.workintech.s18challenge.entity.Book;
+import com.workintech.s18challenge.entity.Category;
+import com.workintech.s18challenge.event.CatalogImportedEvent;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+@Slf4j
+@Service
+public class ImportServiceImpl implements ImportService {
+
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int batchSize;
+
+    public ImportServiceImpl(EntityManager entityManager, ObjectMapper objectMapper,
+                             PlatformTransactionManager transactionManager, ApplicationEventPublisher eventPublisher,
+                             @Value("${import.batch-size:500}") int batchSize) {
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.eventPublisher = eventPublisher;
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public ImportResponse importAuthors(InputStream inputStream) {
+        return importRecords(inputStream, Author.class, Function.identity());
+    }
+
+    @Override
+    public ImportResponse importCategories(InputStream inputStream) {
+        return importRecords(inputStream, Category.class, Function.identity());
+    }
+
+    @Override
+    public ImportResponse importBooks(InputStream inputStream) {
+        return importRecords(inputStream, BookRequest.class, bookRequest -> {
+            Book book = new Book();
+            book.setName(bookRequest.name());
+            book.setCategory(entityManager.getReference(Category.class, bookRequest.categoryId()));
+            if (bookRequest.authorId() != null) {
+                book.setAuthor(entityManager.getReference(Author.class, bookRequest.authorId()));
+            }
+            return book;
+        });
+    }
+
+    private <T, E> ImportResponse importRecords(InputStream inputStream, Class<T> recordType, Function<T, E> resolver) {
+        long startedAt = System.nanoTime();
+        long parseNanos = 0;
+        long[] resolveNanos = new long[1];
+        long persistNanos = 0;
+        long records = 0;
+        long batches = 0;
+        List<T> buffer = new ArrayList<>(batchSize);
+
+        try (MappingIterator<T> iterator = objectMapper.readerFor(recordType).readValues(inputStream)) {
+            boolean hasNext = true;
+            while (hasNext) {
+                long parseStart = System.nanoTime();
+                hasNext = iterator.hasNextValue();
+                if (hasNext) {
+                    buffer.add(iterator.nextValue());
+                }
+                parseNanos += System.nanoTime() - parseStart;
+
+                if (buffer.size() == batchSize || (!hasNext && !buffer.isEmpty())) {
+                    long persistStart = System.nanoTime();
+                    long resolveBefore = resolveNanos[0];
+                    transactionTemplate.executeWithoutResult(status -> {
+                        long resolveStart = System.nanoTime();
+                        List<E> entities = new ArrayList<>(buffer.size());
+                        for (T record : buffer) {
+                            entities.add(resolver.apply(record));
+                        }
+                        resolveNanos[0] += System.nanoTime() - resolveStart;
+                        for (E entity : entities) {
+                            entityManager.persist(entity);
+                        }
+                        entityManager.flush();
+                        entityManager.clear();
+                    });
+                    persistNanos += System.nanoTime() - persistStart - (resolveNanos[0] - resolveBefore);
+                    records += buffer.size();
+                    batches++;
+                    buffer.clear();
+                    log.debug("Imported {} {} records in {} batches", records, recordType.getSimpleName(), batches);
+                }
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Import payload could not be read: " + e.getMessage(), e);
+        } finally {
+            if (records > 0) {
+                eventPublisher.publishEvent(new CatalogImportedEvent(recordType, records));
+            }
+        }
+
+        long totalNanos = System.nanoTime() - startedAt;
+        log.info("Imported {} {} records in {} batches, {} ms", records, recordType.getSimpleName(), batches, totalNanos / 1_000_000);
+        return new ImportResponse(records, batches, totalNanos / 1_000_000, List.of(
+                stage("parse", records, parseNanos),
+                stage("resolve", records, resolveNanos[0]),
+                stage("persist", records, persistNanos)));
+    }
+
+    private static ImportStageResponse stage(String name, long records, long nanos) {
+        double recordsPerSecond = nanos == 0 ? 0 : records * 1_000_000_000d / nanos;
+        return new ImportStageResponse(name, records, nanos / 1_000_000, recordsPerSecond);
+    }
+}
@@ -0,0 +1,62 @@
+package com.workintech.s18challenge.service;
+
+import org.springframework.cache.Cache;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+final class MultiGet {
+
+    static final int MAX_IDS_PER_QUERY = 1000;
+
+    private MultiGet() {
+    }
+
+    static <T> List<T> findAll(Collection<Long> ids, Cache cache, Class<T> type,
+                               Function<List<Long>, List<T>> query, ToLongFunction<T> idOf) {
+        Set<Long> requested = new LinkedHashSet<>(ids);
+        Map<Long, T> found = new HashMap<>();
+        List<Long> misses = new ArrayList<>();
+        for (Long id : requested) {
+            T cached = cache == null ? null : cache.get(id, type);
+            if (cached != null) {
+                found.put(id, cached);
+            } else {
+                misses.add(id);
+            }
+        }
+
+        for (T result : findChunked(misses, query)) {
+            long id = idOf.applyAsLong(result);
+            found.put(id, result);
+            if (cache != null) {
+                cache.put(id, result);
+            }
+        }
+
+        List<T> results = new ArrayList<>(found.size());
+        for (Long id : requested) {
+            T result = found.get(id);
+            if (result != null) {
+                results.add(result);
+            }
+        }
+        return results;
+    }
+
+    static <T> List<T> findChunked(Collection<Long> ids, Function<List<Long>, List<T>> query) {
+        List<Long> distinct = new ArrayList<>(new LinkedHashSet<>(ids));
+        List<T> results = new ArrayList<>(distinct.size());
+        for (int from = 0; from < distinct.size(); from += MAX_IDS_PER_QUERY) {
+            results.addAll(query.apply(distinct.subList(from, Math.min(from + MAX_IDS_PER_QUERY, distinct.size()))));
+        }
+        return results;
+    }
+}
@@ -0,0 +1,74 @@
+package com.workintech.s18challenge.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+public class SingleFlight<K, V> {
+
+    private final Map<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final int maxInFlightKeys;
+    private final Counter executed;
+    private final Counter coalesced;
+    private final Counter bypassed;
+
+    public SingleFlight(String name, int maxInFlightKeys, MeterRegistry meterRegistry) {
+        this.maxInFlightKeys = maxInFlightKeys;
+        this.executed = meterRegistry.counter("single.flight.calls", "name", name, "result", "executed");
+        this.coalesced = meterRegistry.counter("single.flight.calls", "name", name, "result", "coalesced");
+        this.bypassed = meterRegistry.counter("single.flight.calls", "name", name, "result", "bypassed");
+        Gauge.builder("single.flight.in.flight", inFlight, Map::size)
+                .tag("name", name)
+                .register(meterRegistry);
+    }
+
+    public V execute(K key, Function<K, V> loader) {
+        CompletableFuture<V> existing = inFlight.get(key);
+        if (existing != null) {
+            return await(existing);
+        }
+        if (inFlight.size() >= maxInFlightKeys) {
+            bypassed.increment();
+            return loader.apply(key);
+        }
+
+        CompletableFuture<V> call = new CompletableFuture<>();
+        existing = inFlight.putIfAbsent(key, call);
+        if (existing != null) {
+            return await(existing);
+        }
+
+        executed.increment();
+        try {
+            V value = loader.apply(key);
+            call.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            call.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, call);
+        }
+    }
+
+    private V await(CompletableFuture<V> call) {
+        coalesced.increment();
+        try {
+            return call.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+}
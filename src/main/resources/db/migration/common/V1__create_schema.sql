@@ -0,0 +1,26 @@
+CREATE SEQUENCE IF NOT EXISTS category_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS author_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS book_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS category (
+    id   BIGINT NOT NULL,
+    name VARCHAR(255),
+    CONSTRAINT category_pkey PRIMARY KEY (id)
+);
+
+CREATE TABLE IF NOT EXISTS author (
+    id         BIGINT NOT NULL,
+    first_name VARCHAR(255),
+    last_name  VARCHAR(255),
+    CONSTRAINT author_pkey PRIMARY KEY (id)
+);
+
+CREATE TABLE IF NOT EXISTS book (
+    id          BIGINT NOT NULL,
+    name        VARCHAR(255),
+    category_id BIGINT,
+    author_id   BIGINT,
+    CONSTRAINT book_pkey PRIMARY KEY (id),
+    CONSTRAINT book_category_fk FOREIGN KEY (category_id) REFERENCES category (id),
+    CONSTRAINT book_author_fk FOREIGN KEY (author_id) REFERENCES author (id)
+);
@@ -0,0 +1,5 @@
+CREATE INDEX IF NOT EXISTS book_author_id_idx ON book (author_id, id);
+CREATE INDEX IF NOT EXISTS book_category_id_idx ON book (category_id, id);
+CREATE INDEX IF NOT EXISTS book_name_idx ON book (name);
+CREATE INDEX IF NOT EXISTS category_name_idx ON category (name);
+CREATE INDEX IF NOT EXISTS author_name_idx ON author (last_name, first_name);
@@ -0,0 +1,3 @@
+ALTER TABLE category ADD COLUMN IF NOT EXISTS last_modified TIMESTAMP(6) WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP;
+ALTER TABLE author ADD COLUMN IF NOT EXISTS last_modified TIMESTAMP(6) WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP;
+ALTER TABLE book ADD COLUMN IF NOT EXISTS last_modified TIMESTAMP(6) WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP;
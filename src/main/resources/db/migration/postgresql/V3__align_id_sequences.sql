@@ -0,0 +1,3 @@
+SELECT setval('category_seq', COALESCE(MAX(id), 0) + 50) FROM category;
+SELECT setval('author_seq', COALESCE(MAX(id), 0) + 50) FROM author;
+SELECT setval('book_seq', COALESCE(MAX(id), 0) + 50) FROM book;
@@ -0,0 +1,7 @@
+CREATE EXTENSION IF NOT EXISTS pg_trgm SCHEMA public;
+CREATE INDEX IF NOT EXISTS book_name_tsv_idx ON book USING gin (to_tsvector('simple', name));
+CREATE INDEX IF NOT EXISTS book_name_trgm_idx ON book USING gin (name gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS author_first_name_trgm_idx ON author USING gin (first_name gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS author_last_name_trgm_idx ON author USING gin (last_name gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS author_name_tsv_idx ON author
+    USING gin (to_tsvector('simple', coalesce(first_name, '') || ' ' || coalesce(last_name, '')));
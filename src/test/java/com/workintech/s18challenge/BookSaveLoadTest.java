@@ -0,0 +1,116 @@
+package com.workintech.s18challenge;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureTestDatabase
+@ActiveProfiles("test")
+@EnabledIfSystemProperty(named = "loadtest", matches = "true")
+class BookSaveLoadTest {
+
+    private static final Logger log = LoggerFactory.getLogger(BookSaveLoadTest.class);
+
+    private static final int CLIENTS = Integer.getInteger("loadtest.clients", 200);
+    private static final int REQUESTS_PER_CLIENT = Integer.getInteger("loadtest.requests", 50);
+
+    private static final Map<String, String> RESULTS = Collections.synchronizedMap(new LinkedHashMap<>());
+
+    @AfterAll
+    static void logComparison() {
+        RESULTS.forEach((threads, result) -> log.info("book save load test [{}, java={}]: {}",
+                threads, Runtime.version().feature(), result));
+    }
+
+    @Nested
+    @TestPropertySource(properties = "spring.threads.virtual.enabled=false")
+    class PlatformThreads extends LoadRun {
+
+        @Test
+        void measureBookSaveThroughputAndLatency() throws Exception {
+            RESULTS.put("platform threads", measure());
+        }
+    }
+
+    @Nested
+    @TestPropertySource(properties = "spring.threads.virtual.enabled=true")
+    class VirtualThreads extends LoadRun {
+
+        @Test
+        void measureBookSaveThroughputAndLatency() throws Exception {
+            RESULTS.put("virtual threads", measure());
+        }
+    }
+
+    abstract static class LoadRun {
+
+        @LocalServerPort
+        private int port;
+
+        private final HttpClient httpClient = HttpClient.newHttpClient();
+
+        String measure() throws Exception {
+            HttpResponse<String> category = post("/category", "{\"name\":\"Load\"}");
+            String categoryId = category.body().replaceAll(".*\"id\":(\\d+).*", "$1");
+
+            List<Long> latencies = Collections.synchronizedList(new ArrayList<>(CLIENTS * REQUESTS_PER_CLIENT));
+            ExecutorService clients = Executors.newFixedThreadPool(CLIENTS);
+            long startedAt = System.nanoTime();
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < CLIENTS; i++) {
+                futures.add(clients.submit(() -> {
+                    for (int j = 0; j < REQUESTS_PER_CLIENT; j++) {
+                        long requestStart = System.nanoTime();
+                        HttpResponse<String> response = post("/book/" + categoryId, "{\"name\":\"Load Book\"}");
+                        latencies.add(System.nanoTime() - requestStart);
+                        assertEquals(200, response.statusCode());
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            long elapsedNanos = System.nanoTime() - startedAt;
+            clients.shutdown();
+
+            List<Long> sorted = new ArrayList<>(latencies);
+            Collections.sort(sorted);
+            double throughput = sorted.size() * 1_000_000_000d / elapsedNanos;
+            double p99Millis = sorted.get((int) Math.ceil(sorted.size() * 0.99) - 1) / 1_000_000d;
+            return String.format("%d requests, %.1f req/s, p99 %.2f ms", sorted.size(), throughput, p99Millis);
+        }
+
+        private HttpResponse<String> post(String path, String body) throws Exception {
+            HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/workintech" + path))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(body))
+                    .build();
+            return httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.workintech.s18challenge;
+
+import com.workintech.s18challenge.dto.BookRequest;
+import com.workintech.s18challenge.dto.BookWriteResponse;
+import com.workintech.s18challenge.dto.BookWriteStatus;
+import com.workintech.s18challenge.entity.Category;
+import com.workintech.s18challenge.service.AuthorService;
+import com.workintech.s18challenge.service.BookService;
+import com.workintech.s18challenge.service.BookWriteBehindProperties;
+import com.workintech.s18challenge.service.BookWriteBehindService;
+import com.workintech.s18challenge.service.BookWriteBehindServiceImpl;
+import com.workintech.s18challenge.service.CategoryService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+@SpringBootTest(properties = {"book.write-behind.enabled=true", "book.write-behind.batch-size=10"})
+@AutoConfigureTestDatabase
+@ActiveProfiles("test")
+class BookWriteBehindTest {
+
+    @Autowired
+    private BookWriteBehindService bookWriteBehindService;
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    private static BookWriteResponse awaitWritten(BookWriteBehindService service, String trackingId) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        BookWriteResponse status = service.findStatus(trackingId);
+        while (status.status() == BookWriteStatus.QUEUED && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+            status = service.findStatus(trackingId);
+        }
+        return status;
+    }
+
+    @Test
+    void testQueuedBooksAreWrittenInBatches() throws Exception {
+        Category category = new Category();
+        category.setName("Ingest");
+        long categoryId = categoryService.save(category).getId();
+
+        List<String> trackingIds = new ArrayList<>();
+        for (int i = 0; i < 25; i++) {
+            BookWriteResponse queued = bookWriteBehindService.enqueue(new BookRequest("Queued " + i, categoryId, null));
+            assertEquals(BookWriteStatus.QUEUED, queued.status());
+            trackingIds.add(queued.trackingId());
+        }
+
+        for (int i = 0; i < trackingIds.size(); i++) {
+            BookWriteResponse written = awaitWritten(bookWriteBehindService, trackingIds.get(i));
+            assertEquals(BookWriteStatus.WRITTEN, written.status());
+            assertEquals("Queued " + i, bookService.findResponseById(written.bookId()).name());
+        }
+    }
+
+    @Test
+    void testUnknownCategoryIsRejectedBeforeQueueing() {
+        assertThrows(RuntimeException.class, () -> bookWriteBehindService.enqueue(new BookRequest("Orphan", -1, null)));
+    }
+
+    @Test
+    void testFullQueueAppliesBackpressureAndShutdownDrains() throws Exception {
+        BookService slowBookService = mock(BookService.class);
+        CategoryService mockCategoryService = mock(CategoryService.class);
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        given(mockCategoryService.getReferenceById(anyLong())).willReturn(new Category());
+        given(slowBookService.saveAll(any())).willAnswer(invocation -> {
+            writing.countDown();
+            release.await();
+            return invocation.getArgument(0);
+        });
+        BookWriteBehindServiceImpl service = new BookWriteBehindServiceImpl(
+                new BookWriteBehindProperties(true, 1, 10, Duration.ofMillis(10), Duration.ofSeconds(5), Duration.ofMinutes(1), 100),
+                slowBookService, mockCategoryService, mock(AuthorService.class),
+                mock(PlatformTransactionManager.class), new SimpleMeterRegistry());
+
+        String inFlight = service.enqueue(new BookRequest("First", 1, null)).trackingId();
+        assertTrue(writing.await(5, TimeUnit.SECONDS));
+        String waiting = service.enqueue(new BookRequest("Second", 1, null)).trackingId();
+        ResponseStatusException rejected = assertThrows(ResponseStatusException.class,
+                () -> service.enqueue(new BookRequest("Third", 1, null)));
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, rejected.getStatusCode());
+
+        release.countDown();
+        service.shutdown();
+
+        assertEquals(BookWriteStatus.WRITTEN, service.findStatus(inFlight).status());
+        assertEquals(BookWriteStatus.WRITTEN, service.findStatus(waiting).status());
+        assertThrows(ResponseStatusException.class, () -> service.enqueue(new BookRequest("Late", 1, null)));
+    }
+
+    @Test
+    void testUnknownTrackingIdIsNotFound() {
+        ResponseStatusException notFound = assertThrows(ResponseStatusException.class,
+                () -> bookWriteBehindService.findStatus("missing"));
+        assertEquals(HttpStatus.NOT_FOUND, notFound.getStatusCode());
+    }
+}
@@ -0,0 +1,50 @@
+package com.workintech.s18challenge;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.workintech.s18challenge.entity.Category;
+import com.workintech.s18challenge.service.CategoryService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest
+@AutoConfigureTestDatabase
+@ActiveProfiles("test")
+class CacheTest {
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Test
+    void testCategoryLookupsAreCachedAndEvictedOnSave() {
+        Category category = new Category();
+        category.setName("Fiction");
+        category = categoryService.save(category);
+
+        Cache<Object, Object> nativeCache = ((CaffeineCache) cacheManager.getCache("categories")).getNativeCache();
+        CacheStats before = nativeCache.stats();
+
+        categoryService.findResponseById(category.getId());
+        categoryService.findResponseById(category.getId());
+
+        CacheStats afterLookups = nativeCache.stats().minus(before);
+        assertEquals(1, afterLookups.missCount(), "First lookup should miss the cache.");
+        assertEquals(1, afterLookups.hitCount(), "Second lookup should be served from the cache.");
+
+        category.setName("Non-Fiction");
+        categoryService.save(category);
+
+        assertEquals("Non-Fiction", categoryService.findResponseById(category.getId()).name(),
+                "Saving a category should evict its cached response.");
+    }
+}
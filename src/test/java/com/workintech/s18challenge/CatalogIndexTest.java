@@ -0,0 +1,195 @@
+package com.workintech.s18challenge;
+
+import com.workintech.s18challenge.dto.BookResponse;
+import com.workintech.s18challenge.dto.BookSearchResult;
+import com.workintech.s18challenge.dto.CatalogWatermark;
+import com.workintech.s18challenge.entity.Author;
+import com.workintech.s18challenge.entity.Book;
+import com.workintech.s18challenge.entity.Category;
+import com.workintech.s18challenge.monitoring.SqlStatementScope;
+import com.workintech.s18challenge.repository.BookRepository;
+import com.workintech.s18challenge.search.CatalogIndex;
+import com.workintech.s18challenge.service.AuthorService;
+import com.workintech.s18challenge.service.BookService;
+import com.workintech.s18challenge.service.CategoryService;
+import com.workintech.s18challenge.service.ImportService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = "search.engine=index")
+@AutoConfigureTestDatabase
+@ActiveProfiles("test")
+class CatalogIndexTest {
+
+    @Autowired
+    private CatalogIndex catalogIndex;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private AuthorService authorService;
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private ImportService importService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private Book saveBook(String name, String categoryName, String firstName, String lastName) {
+        return new TransactionTemplate(transactionManager).execute(status -> {
+            Category category = new Category();
+            category.setName(categoryName);
+            category = categoryService.save(category);
+
+            Author author = new Author();
+            author.setFirstName(firstName);
+            author.setLastName(lastName);
+            author = authorService.save(author);
+
+            Book book = new Book();
+            book.setName(name);
+            book.setCategory(category);
+            book.setAuthor(author);
+            return bookService.save(book);
+        });
+    }
+
+    private List<Long> search(String query) {
+        return catalogIndex.search(query, Double.MAX_VALUE, 0, 10).stream()
+                .map(result -> result.book().id())
+                .toList();
+    }
+
+    @Test
+    void testSavedBookIsSearchableByEveryFieldWithoutSql() {
+        long bookId = saveBook("Wuthering Heights", "Gothic", "Emily", "Bronte").getId();
+
+        try (SqlStatementScope scope = SqlStatementScope.open()) {
+            assertEquals(List.of(bookId), search("wuthering"));
+            assertEquals(List.of(bookId), search("goth"));
+            assertEquals(List.of(bookId), search("emily bron"));
+            assertEquals(0, scope.statementCount());
+        }
+    }
+
+    @Test
+    void testAuthorRenameIsReindexedAfterCommit() {
+        Book book = saveBook("Middlemarch", "Provincial", "Mary", "Evans");
+
+        Author author = authorService.findById(book.getAuthor().getId());
+        author.setFirstName("George");
+        author.setLastName("Eliot");
+        authorService.save(author);
+
+        assertEquals(List.of(book.getId()), search("george eliot"));
+        assertTrue(search("evans").isEmpty());
+    }
+
+    @Test
+    void testExactWordsRankAbovePrefixes() {
+        CatalogIndex index = new CatalogIndex();
+        index.index(new BookResponse(1, "Dune Messiah", "Science Fiction", null));
+        index.index(new BookResponse(2, "Dunes of Namibia", "Travel", null));
+
+        List<BookSearchResult> results = index.search("dune", Double.MAX_VALUE, 0, 10);
+
+        assertEquals(List.of(1L, 2L), results.stream().map(result -> result.book().id()).toList());
+        assertTrue(results.get(0).rank() > results.get(1).rank());
+    }
+
+    @Test
+    void testSnapshotRoundTripsThroughMappedFile(@TempDir Path directory) throws Exception {
+        CatalogIndex index = new CatalogIndex();
+        index.rebuild(List.of(new BookResponse(1, "Dune", "Science Fiction", 7L, "Frank Herbert"),
+                new BookResponse(2, "Emma", null, null)), new CatalogWatermark(2, 2L,
+                Instant.parse("2024-05-01T10:15:30.123456Z"), null, Instant.parse("2024-04-30T08:00:00Z")));
+        index.index(new BookResponse(3, "Persuasion", "Romance", null));
+        index.advanceWatermark(watermark -> watermark.withBook(3, Instant.parse("2024-05-02T09:00:00Z")));
+        index.remove(3);
+        Path snapshot = directory.resolve("books.idx");
+
+        index.snapshot(snapshot);
+        CatalogIndex restored = new CatalogIndex();
+
+        CatalogWatermark expected = new CatalogWatermark(2, 3L, Instant.parse("2024-05-02T09:00:00Z"), null,
+                Instant.parse("2024-04-30T08:00:00Z"));
+        assertEquals(expected, restored.watermark(snapshot));
+        assertEquals(2, restored.load(snapshot));
+        assertEquals(expected, restored.watermark());
+        assertEquals(new BookResponse(1, "Dune", "Science Fiction", 7L, "Frank Herbert"),
+                restored.search("herbert", Double.MAX_VALUE, 0, 10).get(0).book());
+        assertEquals(1, restored.search("emma", Double.MAX_VALUE, 0, 10).size());
+        assertTrue(restored.search("persuasion", Double.MAX_VALUE, 0, 10).isEmpty());
+        assertEquals(List.of(1L), restored.search("scien", Double.MAX_VALUE, 0, 10).stream()
+                .map(result -> result.book().id()).toList());
+    }
+
+    @Test
+    void testWatermarkMovesWhenABookIsRenamed() {
+        Book book = saveBook("Lorna Doone", "Romance", "Richard", "Blackmore");
+        CatalogWatermark before = bookRepository.findWatermark();
+
+        Book renamed = bookService.findById(book.getId());
+        renamed.setName("Lorna Doone: A Romance of Exmoor");
+        bookService.save(renamed);
+
+        CatalogWatermark after = bookRepository.findWatermark();
+        assertEquals(before.bookCount(), after.bookCount());
+        assertNotEquals(before, after, "An update that keeps the book count should still make the snapshot stale.");
+    }
+
+    @Test
+    void testSnapshotWatermarkOnlyCoversChangesTheIndexSaw() {
+        Book book = saveBook("Ivanhoe", "Historical", "Walter", "Scott");
+        CatalogWatermark indexed = catalogIndex.watermark();
+        assertEquals(book.getId(), indexed.maxBookId());
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> entityManager
+                .createNativeQuery("UPDATE fsweb.book SET name = 'Rob Roy', last_modified = ? WHERE id = ?")
+                .setParameter(1, book.getLastModified().plusSeconds(60))
+                .setParameter(2, book.getId())
+                .executeUpdate());
+
+        assertEquals(indexed, catalogIndex.watermark());
+        assertNotEquals(bookRepository.findWatermark(), catalogIndex.watermark(),
+                "A write the index missed should make its snapshot stale on the next start.");
+    }
+
+    @Test
+    void testImportedBooksAreIndexedAfterCommit() {
+        long categoryId = saveBook("Kidnapped", "Adventure", "Robert", "Stevenson").getCategory().getId();
+        String payload = "{\"name\":\"Treasure Island\",\"categoryId\":" + categoryId + "}\n";
+
+        importService.importBooks(new ByteArrayInputStream(payload.getBytes(StandardCharsets.UTF_8)));
+
+        assertEquals(1, search("treasure").size());
+    }
+}
@@ -0,0 +1,130 @@
+package com.workintech.s18challenge;
+
+import com.workintech.s18challenge.cache.SerializedResponseCache;
+import com.workintech.s18challenge.entity.Author;
+import com.workintech.s18challenge.entity.Book;
+import com.workintech.s18challenge.entity.Category;
+import com.workintech.s18challenge.monitoring.SqlStatementScope;
+import com.workintech.s18challenge.service.AuthorService;
+import com.workintech.s18challenge.service.BookService;
+import com.workintech.s18challenge.service.CategoryService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureTestDatabase
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ConditionalGetTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private AuthorService authorService;
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private SerializedResponseCache serializedResponseCache;
+
+    private Category saveCategory(String name) {
+        Category category = new Category();
+        category.setName(name);
+        return categoryService.save(category);
+    }
+
+    private String eTag(String uri, long id) throws Exception {
+        String eTag = mockMvc.perform(get(uri, id))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotNull(eTag);
+        return eTag;
+    }
+
+    @Test
+    void testMatchingETagIsAnsweredWithoutLoadingTheEntity() throws Exception {
+        long categoryId = saveCategory("Poetry").getId();
+        String eTag = eTag("/category/{id}", categoryId);
+        serializedResponseCache.clear();
+
+        try (SqlStatementScope scope = SqlStatementScope.open()) {
+            mockMvc.perform(get("/category/{id}", categoryId).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                    .andExpect(status().isNotModified())
+                    .andExpect(content().string(""));
+
+            assertEquals(1, scope.statementCount(), "Only the version lookup should run for a matching validator.");
+        }
+    }
+
+    @Test
+    void testLastModifiedIsHonouredForIfModifiedSince() throws Exception {
+        long categoryId = saveCategory("Essays").getId();
+        String lastModified = mockMvc.perform(get("/category/{id}", categoryId))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.LAST_MODIFIED);
+        assertNotNull(lastModified);
+
+        mockMvc.perform(get("/category/{id}", categoryId).header(HttpHeaders.IF_MODIFIED_SINCE, lastModified))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void testRenamingACategoryChangesTheBookETag() throws Exception {
+        Category category = saveCategory("Travel");
+        Book book = new Book();
+        book.setName("Journey");
+        book.setCategory(categoryService.getReferenceById(category.getId()));
+        long bookId = bookService.save(book).getId();
+
+        String categoryETag = eTag("/category/{id}", category.getId());
+        String bookETag = eTag("/book/{id}", bookId);
+
+        Category renamed = categoryService.findById(category.getId());
+        renamed.setName("Voyages");
+        categoryService.save(renamed);
+
+        mockMvc.perform(get("/category/{id}", category.getId()).header(HttpHeaders.IF_NONE_MATCH, categoryETag))
+                .andExpect(status().isOk());
+        assertNotEquals(bookETag, eTag("/book/{id}", bookId));
+    }
+
+    @Test
+    void testAddingABookChangesTheAuthorBooksETag() throws Exception {
+        long categoryId = saveCategory("Mystery").getId();
+        Author author = new Author();
+        author.setFirstName("Agatha");
+        author.setLastName("Christie");
+        long authorId = authorService.save(author).getId();
+        String eTag = eTag("/author/{id}/books", authorId);
+
+        mockMvc.perform(post("/book/saveByAuthor")
+                        .param("categoryId", String.valueOf(categoryId))
+                        .param("authorId", String.valueOf(authorId))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Poirot\"}"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/author/{id}/books", authorId).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk());
+    }
+}
@@ -1,35 +1,61 @@
 package com.workintech.s18challenge;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.workintech.s18challenge.cache.SerializedResponseCache;
 import com.workintech.s18challenge.controller.AuthorController;
 import com.workintech.s18challenge.controller.BookController;
 import com.workintech.s18challenge.controller.CategoryController;
+import com.workintech.s18challenge.dto.AuthorResponse;
+import com.workintech.s18challenge.dto.BookRequest;
+import com.workintech.s18challenge.dto.BookResponse;
+import com.workintech.s18challenge.dto.BookSearchResult;
+import com.workintech.s18challenge.dto.BookWriteResponse;
+import com.workintech.s18challenge.dto.BookWriteStatus;
+import com.workintech.s18challenge.dto.CategoryResponse;
+import com.workintech.s18challenge.dto.EntityVersion;
+import com.workintech.s18challenge.dto.ImportResponse;
+import com.workintech.s18challenge.dto.ImportStageResponse;
 import com.workintech.s18challenge.entity.Author;
 import com.workintech.s18challenge.entity.Book;
 import com.workintech.s18challenge.entity.Category;
 import com.workintech.s18challenge.service.AuthorService;
+import com.workintech.s18challenge.service.BookSearchService;
 import com.workintech.s18challenge.service.BookService;
+import com.workintech.s18challenge.service.BookWriteBehindService;
 import com.workintech.s18challenge.service.CategoryService;
+import com.workintech.s18challenge.service.ImportService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Instant;
+import java.util.List;
 
 import static org.hamcrest.Matchers.is;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(value = {AuthorController.class, BookController.class, CategoryController.class})
+@Import({SerializedResponseCache.class, SimpleMeterRegistry.class})
 class ControllerTest {
 
     @Autowired
@@ -50,13 +76,30 @@ class ControllerTest {
     @MockBean
     private CategoryService mockCategoryService;
 
+    @MockBean
+    private ImportService mockImportService;
+
+    @MockBean
+    private BookSearchService mockBookSearchService;
+
+    @MockBean
+    private BookWriteBehindService mockBookWriteBehindService;
+
+    @MockBean
+    private PlatformTransactionManager mockTransactionManager;
+
     private Book sampleBookBookController;
     private Category sampleCategoryBookController;
     private Author sampleAuthorBookController;
     private Category sampleCategoryCategoryController;
 
+    @Autowired
+    private SerializedResponseCache serializedResponseCache;
+
     @BeforeEach
     void setUp() {
+        serializedResponseCache.clear();
+
         sampleAuthorAuthorController = new Author();
         sampleAuthorAuthorController.setId(1);
         sampleAuthorAuthorController.setFirstName("John");
@@ -104,19 +147,30 @@ class ControllerTest {
     @Test
     @DisplayName("test save author with book in author controller layer")
     void testSaveAuthorWithBookOnAuthorController() throws Exception {
-        given(mockBookService.findById(sampleBookAuthorController.getId())).willReturn(sampleBookAuthorController);
-        given(mockAuthorService.save(any())).willAnswer(invocation -> invocation.getArgument(0));
+        given(mockAuthorService.saveWithBook(any(), eq(sampleBookAuthorController.getId()))).willAnswer(invocation -> {
+            Author authorWithBooks = new Author();
+            authorWithBooks.setId(sampleAuthorAuthorController.getId());
+            authorWithBooks.setFirstName(sampleAuthorAuthorController.getFirstName());
+            authorWithBooks.setLastName(sampleAuthorAuthorController.getLastName());
+            authorWithBooks.addBook(sampleBookAuthorController);
+            return authorWithBooks;
+        });
 
         mockMvc.perform(post("/author/{bookId}", sampleBookAuthorController.getId())
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(sampleAuthorAuthorController)))
-                .andExpect(status().isOk());
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.responseList[0].name", is(sampleBookAuthorController.getName())))
+                .andExpect(jsonPath("$.responseList[0].categoryName", is("Sample Category")))
+                .andExpect(jsonPath("$.responseList[0].authorResponse.authorName", is("John Doe")));
     }
 
     @Test
     @DisplayName("test save book in book controller layer")
     void testSaveBookWithCategoryBookController() throws Exception {
-        given(mockCategoryService.findById(sampleCategoryBookController.getId())).willReturn(sampleCategoryBookController);
+        given(mockCategoryService.findResponseById(sampleCategoryBookController.getId()))
+                .willReturn(new CategoryResponse(sampleCategoryBookController.getId(), sampleCategoryBookController.getName()));
+        given(mockCategoryService.getReferenceById(sampleCategoryBookController.getId())).willReturn(sampleCategoryBookController);
         given(mockBookService.save(any())).willReturn(sampleBookBookController);
 
         mockMvc.perform(post("/book/{categoryId}", sampleCategoryBookController.getId())
@@ -128,15 +182,20 @@ class ControllerTest {
                 .andExpect(jsonPath("$.categoryName", is(sampleCategoryBookController.getName())))
                 .andExpect(jsonPath("$.authorResponse").doesNotExist());
 
-        verify(mockCategoryService).findById(sampleCategoryBookController.getId());
+        verify(mockCategoryService).getReferenceById(sampleCategoryBookController.getId());
+        verify(mockCategoryService, never()).findById(anyLong());
         verify(mockBookService).save(any());
     }
 
     @Test
     @DisplayName("test save book with author and category in book controller layer")
     void testSaveBookWithAuthorAndCategoryBookController() throws Exception {
-        given(mockCategoryService.findById(sampleCategoryBookController.getId())).willReturn(sampleCategoryBookController);
-        given(mockAuthorService.findById(sampleAuthorBookController.getId())).willReturn(sampleAuthorBookController);
+        given(mockCategoryService.findResponseById(sampleCategoryBookController.getId()))
+                .willReturn(new CategoryResponse(sampleCategoryBookController.getId(), sampleCategoryBookController.getName()));
+        given(mockAuthorService.findResponseById(sampleAuthorBookController.getId()))
+                .willReturn(new AuthorResponse(sampleAuthorBookController.getId(), "John Doe"));
+        given(mockCategoryService.getReferenceById(sampleCategoryBookController.getId())).willReturn(sampleCategoryBookController);
+        given(mockAuthorService.getReferenceById(sampleAuthorBookController.getId())).willReturn(sampleAuthorBookController);
         given(mockBookService.save(any())).willReturn(sampleBookBookController);
 
         mockMvc.perform(post("/book/saveByAuthor?categoryId={categoryId}&authorId={authorId}", sampleCategoryBookController.getId(), sampleAuthorBookController.getId())
@@ -149,11 +208,170 @@ class ControllerTest {
                 .andExpect(jsonPath("$.authorResponse.id", is((int) sampleAuthorBookController.getId())))
                 .andExpect(jsonPath("$.authorResponse.authorName", is(sampleAuthorBookController.getFirstName() + " " + sampleAuthorBookController.getLastName())));
 
-        verify(mockCategoryService).findById(sampleCategoryBookController.getId());
-        verify(mockAuthorService).findById(sampleAuthorBookController.getId());
+        verify(mockCategoryService).getReferenceById(sampleCategoryBookController.getId());
+        verify(mockAuthorService).getReferenceById(sampleAuthorBookController.getId());
+        verify(mockCategoryService, never()).findById(anyLong());
+        verify(mockAuthorService, never()).findById(anyLong());
         verify(mockBookService).save(any());
     }
 
+    @Test
+    @DisplayName("test write-behind save is acknowledged with a tracking id")
+    void testSaveBookWriteBehindBookController() throws Exception {
+        BookWriteResponse queued = new BookWriteResponse("tracking-1", BookWriteStatus.QUEUED, null, null);
+        given(mockBookWriteBehindService.isEnabled()).willReturn(true);
+        given(mockBookWriteBehindService.enqueue(new BookRequest(sampleBookBookController.getName(),
+                sampleCategoryBookController.getId(), sampleAuthorBookController.getId()))).willReturn(queued);
+        given(mockBookWriteBehindService.findStatus("tracking-1")).willReturn(queued);
+
+        mockMvc.perform(post("/book/saveByAuthor?categoryId={categoryId}&authorId={authorId}", sampleCategoryBookController.getId(), sampleAuthorBookController.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(sampleBookBookController)))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Location", "http://localhost/book/writes/tracking-1"))
+                .andExpect(jsonPath("$.trackingId", is("tracking-1")))
+                .andExpect(jsonPath("$.status", is("QUEUED")));
+
+        mockMvc.perform(get("/book/writes/{trackingId}", "tracking-1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status", is("QUEUED")));
+
+        verify(mockBookService, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("test batch save books resolves each category and author once")
+    void testSaveAllBookController() throws Exception {
+        given(mockCategoryService.findResponseById(sampleCategoryBookController.getId()))
+                .willReturn(new CategoryResponse(sampleCategoryBookController.getId(), sampleCategoryBookController.getName()));
+        given(mockCategoryService.getReferenceById(sampleCategoryBookController.getId())).willReturn(sampleCategoryBookController);
+        given(mockAuthorService.findResponseById(sampleAuthorBookController.getId()))
+                .willReturn(new AuthorResponse(sampleAuthorBookController.getId(), "John Doe"));
+        given(mockAuthorService.getReferenceById(sampleAuthorBookController.getId())).willReturn(sampleAuthorBookController);
+        given(mockBookService.saveAll(any())).willAnswer(invocation -> invocation.getArgument(0));
+
+        List<BookRequest> bookRequests = List.of(
+                new BookRequest("First Book", sampleCategoryBookController.getId(), sampleAuthorBookController.getId()),
+                new BookRequest("Second Book", sampleCategoryBookController.getId(), sampleAuthorBookController.getId()),
+                new BookRequest("Third Book", sampleCategoryBookController.getId(), null));
+
+        mockMvc.perform(post("/book/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(bookRequests)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()", is(3)))
+                .andExpect(jsonPath("$[0].name", is("First Book")))
+                .andExpect(jsonPath("$[0].categoryName", is(sampleCategoryBookController.getName())))
+                .andExpect(jsonPath("$[1].authorResponse.authorName", is("John Doe")))
+                .andExpect(jsonPath("$[2].authorResponse").doesNotExist());
+
+        verify(mockCategoryService, times(1)).findResponseById(sampleCategoryBookController.getId());
+        verify(mockAuthorService, times(1)).findResponseById(sampleAuthorBookController.getId());
+        verify(mockCategoryService, never()).findById(anyLong());
+        verify(mockAuthorService, never()).findById(anyLong());
+        verify(mockBookService).saveAll(any());
+    }
+
+    @Test
+    @DisplayName("test ndjson import in book controller layer")
+    void testImportBooksBookController() throws Exception {
+        given(mockImportService.importBooks(any())).willReturn(new ImportResponse(2, 1, 5,
+                List.of(new ImportStageResponse("parse", 2, 1, 2000))));
+
+        mockMvc.perform(post("/book/import")
+                        .contentType("application/x-ndjson")
+                        .content("{\"name\":\"A\",\"categoryId\":1}\n{\"name\":\"B\",\"categoryId\":1}\n"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.records", is(2)))
+                .andExpect(jsonPath("$.stages[0].stage", is("parse")));
+
+        verify(mockImportService).importBooks(any());
+    }
+
+    @Test
+    @DisplayName("test keyset listing of books by author in book controller layer")
+    void testFindByAuthorBookController() throws Exception {
+        AuthorResponse authorResponse = new AuthorResponse(1L, "John Doe");
+        given(mockBookService.findByAuthorId(1L, 10L, 2)).willReturn(List.of(
+                new BookResponse(11L, "First Book", "Fiction", authorResponse),
+                new BookResponse(12L, "Second Book", "Fiction", authorResponse)));
+
+        mockMvc.perform(get("/book/byAuthor?authorId=1&afterId=10&size=2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.responseList.length()", is(2)))
+                .andExpect(jsonPath("$.responseList[0].authorResponse.authorName", is("John Doe")))
+                .andExpect(jsonPath("$.nextAfterId", is(12)));
+    }
+
+    @Test
+    @DisplayName("test keyset listing of books by category ends on a short page")
+    void testFindByCategoryBookController() throws Exception {
+        given(mockBookService.findByCategoryId(1L, 0L, 20)).willReturn(List.of(
+                new BookResponse(1L, "Only Book", "Fiction", null)));
+
+        mockMvc.perform(get("/book/byCategory?categoryId=1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.responseList[0].name", is("Only Book")))
+                .andExpect(jsonPath("$.nextAfterId").doesNotExist());
+    }
+
+    @Test
+    @DisplayName("test get author in author controller layer")
+    void testGetAuthorOnAuthorController() throws Exception {
+        given(mockAuthorService.findVersionById(1L)).willReturn(new EntityVersion(0, Instant.EPOCH));
+        given(mockAuthorService.findResponseById(1L)).willReturn(new AuthorResponse(1L, "John Doe"));
+
+        mockMvc.perform(get("/author/{id}", 1L))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id", is(1)))
+                .andExpect(jsonPath("$.authorName", is("John Doe")));
+    }
+
+    @Test
+    @DisplayName("test get author with books in author controller layer")
+    void testGetAuthorWithBooksOnAuthorController() throws Exception {
+        AuthorResponse author = new AuthorResponse(1L, "John Doe");
+        given(mockAuthorService.findBooksVersionById(1L)).willReturn(new EntityVersion(0, Instant.EPOCH, 1, Instant.EPOCH, Instant.EPOCH));
+        given(mockBookService.findByAuthorId(1L, 0L, 100))
+                .willReturn(List.of(new BookResponse(2L, "Sample Book", "Fiction", author)));
+
+        mockMvc.perform(get("/author/{id}/books", 1L))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.responseList[0].name", is("Sample Book")))
+                .andExpect(jsonPath("$.responseList[0].authorResponse.authorName", is("John Doe")));
+    }
+
+    @Test
+    @DisplayName("test get book in book controller layer")
+    void testGetBookBookController() throws Exception {
+        given(mockBookService.findVersionById(1L)).willReturn(new EntityVersion(0, Instant.EPOCH, 0L, Instant.EPOCH, null, null));
+        given(mockBookService.findResponseById(1L)).willReturn(new BookResponse(1L, "Sample Book", "Fiction", null));
+
+        mockMvc.perform(get("/book/{id}", 1L))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name", is("Sample Book")))
+                .andExpect(jsonPath("$.categoryName", is("Fiction")));
+        mockMvc.perform(get("/book/{id}", 1L))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name", is("Sample Book")));
+
+        verify(mockBookService, times(1)).findResponseById(1L);
+    }
+
+    @Test
+    @DisplayName("test ranked book search returns a keyset cursor in book controller layer")
+    void testSearchBookController() throws Exception {
+        given(mockBookSearchService.search("adv", null, 0L, 2)).willReturn(List.of(
+                new BookSearchResult(new BookResponse(3L, "Adventure", "Fiction", null), 2.5),
+                new BookSearchResult(new BookResponse(7L, "Advice", "Science", null), 2.1)));
+
+        mockMvc.perform(get("/book/search?q=adv&size=2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.results[0].book.name", is("Adventure")))
+                .andExpect(jsonPath("$.results[0].rank", is(2.5)))
+                .andExpect(jsonPath("$.nextAfterRank", is(2.1)))
+                .andExpect(jsonPath("$.nextAfterId", is(7)));
+    }
 
     @Test
     @DisplayName("test save category in category controller layer")
@@ -173,13 +391,38 @@ class ControllerTest {
     @Test
     @DisplayName("test get category in category controller layer")
     void testGetCategoryCategoryController() throws Exception {
-        when(mockCategoryService.findById(sampleCategoryCategoryController.getId())).thenReturn(sampleCategoryCategoryController);
+        when(mockCategoryService.findVersionById(sampleCategoryCategoryController.getId()))
+                .thenReturn(new EntityVersion(3, Instant.EPOCH));
+        when(mockCategoryService.findResponseById(sampleCategoryCategoryController.getId()))
+                .thenReturn(new CategoryResponse(sampleCategoryCategoryController.getId(), sampleCategoryCategoryController.getName()));
 
         mockMvc.perform(get("/category/{id}", sampleCategoryCategoryController.getId()))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.id", is(1)))
-                .andExpect(jsonPath("$.name", is("Fiction")));
+                .andExpect(jsonPath("$.name", is("Fiction")))
+                .andExpect(header().string("ETag", "\"3\""));
+    }
+
+    @Test
+    @DisplayName("test multi get categories in category controller layer")
+    void testFindAllCategoriesCategoryController() throws Exception {
+        given(mockCategoryService.findAllById(List.of(1L, 2L)))
+                .willReturn(List.of(new CategoryResponse(1L, "Fiction"), new CategoryResponse(2L, "Science")));
+
+        mockMvc.perform(get("/category").param("ids", "1,2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].name", is("Fiction")))
+                .andExpect(jsonPath("$[1].name", is("Science")));
+    }
+
+    @Test
+    @DisplayName("test conditional get category returns not modified in category controller layer")
+    void testConditionalGetCategoryCategoryController() throws Exception {
+        when(mockCategoryService.findVersionById(1L)).thenReturn(new EntityVersion(3, Instant.EPOCH));
 
+        mockMvc.perform(get("/category/{id}", 1L).header("If-None-Match", "\"3\""))
+                .andExpect(status().isNotModified());
 
+        verify(mockCategoryService, never()).findResponseById(anyLong());
     }
 }
@@ -0,0 +1,196 @@
+package com.workintech.s18challenge;
+
+import com.workintech.s18challenge.entity.Author;
+import com.workintech.s18challenge.entity.Book;
+import com.workintech.s18challenge.entity.Category;
+import com.workintech.s18challenge.monitoring.SqlStatementScope;
+import com.workintech.s18challenge.service.AuthorService;
+import com.workintech.s18challenge.service.BookService;
+import com.workintech.s18challenge.service.CategoryService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.graphql.tester.AutoConfigureGraphQlTester;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.graphql.execution.ErrorType;
+import org.springframework.graphql.test.tester.GraphQlTester;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@AutoConfigureTestDatabase
+@AutoConfigureGraphQlTester
+@ActiveProfiles("test")
+class GraphQlBatchingTest {
+
+    private static final String BOOKS_QUERY = """
+            query($ids: [ID!]!) {
+              books(ids: $ids) {
+                id
+                name
+                category { name }
+                author { authorName }
+              }
+            }
+            """;
+
+    @Autowired
+    private GraphQlTester graphQlTester;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private AuthorService authorService;
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    private final List<Long> bookIds = new ArrayList<>();
+    private final List<Long> authorIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        List<Long> categoryIds = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            Category category = new Category();
+            category.setName("Category " + i);
+            categoryIds.add(categoryService.save(category).getId());
+        }
+        for (int i = 0; i < 10; i++) {
+            Author author = new Author();
+            author.setFirstName("First" + i);
+            author.setLastName("Last" + i);
+            authorIds.add(authorService.save(author).getId());
+        }
+        for (int i = 0; i < 100; i++) {
+            Book book = new Book();
+            book.setName("Book " + i);
+            book.setCategory(categoryService.getReferenceById(categoryIds.get(i % categoryIds.size())));
+            book.setAuthor(authorService.getReferenceById(authorIds.get(i % authorIds.size())));
+            bookIds.add(bookService.save(book).getId());
+        }
+        cacheManager.getCacheNames().forEach(name -> Objects.requireNonNull(cacheManager.getCache(name)).clear());
+    }
+
+    private int statementsFor(List<Long> ids) {
+        try (SqlStatementScope scope = SqlStatementScope.open()) {
+            graphQlTester.document(BOOKS_QUERY)
+                    .variable("ids", ids)
+                    .execute()
+                    .path("books").entityList(Object.class).hasSize(ids.size())
+                    .path("books[0].category.name").hasValue()
+                    .path("books[0].author.authorName").hasValue();
+            cacheManager.getCacheNames().forEach(name -> Objects.requireNonNull(cacheManager.getCache(name)).clear());
+            return scope.statementCount();
+        }
+    }
+
+    @Test
+    void testBooksWithAuthorsAndCategoriesRunAConstantNumberOfStatements() {
+        int forTen = statementsFor(bookIds.subList(0, 10));
+        int forHundred = statementsFor(bookIds);
+
+        assertEquals(3, forHundred, "Books, authors and categories should each be loaded with one batched query.");
+        assertEquals(forTen, forHundred, "The statement count should not grow with the number of books.");
+    }
+
+    @Test
+    void testAuthorBooksAreBatchedAcrossAuthors() {
+        try (SqlStatementScope scope = SqlStatementScope.open()) {
+            graphQlTester.document("""
+                            query($ids: [ID!]!) {
+                              authors(ids: $ids) {
+                                authorName
+                                books { name category { name } }
+                              }
+                            }
+                            """)
+                    .variable("ids", authorIds)
+                    .execute()
+                    .path("authors").entityList(Object.class).hasSize(10)
+                    .path("authors[0].books").entityList(Object.class).hasSize(10);
+
+            scope.assertStatementCountAtMost(3);
+        }
+    }
+
+    @Test
+    void testNestedBookListsAreCappedPerParent() {
+        Author author = new Author();
+        author.setFirstName("Prolific");
+        author.setLastName("Writer");
+        long authorId = authorService.save(author).getId();
+        for (int i = 0; i < 105; i++) {
+            Book book = new Book();
+            book.setName("Volume " + i);
+            book.setAuthor(authorService.getReferenceById(authorId));
+            bookService.save(book);
+        }
+
+        graphQlTester.document("query($ids: [ID!]!) { authors(ids: $ids) { books { name } } }")
+                .variable("ids", List.of(authorIds.get(0), authorId))
+                .execute()
+                .path("authors[0].books").entityList(Object.class).hasSize(10)
+                .path("authors[1].books").entityList(Object.class).hasSize(100)
+                .path("authors[1].books[0].name").entity(String.class).isEqualTo("Volume 0");
+    }
+
+    @Test
+    void testQueriesDeeperThanTheLimitAreRejected() {
+        graphQlTester.document("""
+                        {
+                          author(id: 1) {
+                            books { category { books { author { books { category { name } } } } } }
+                          }
+                        }
+                        """)
+                .execute()
+                .errors()
+                .expect(error -> error.getMessage() != null && error.getMessage().contains("maximum query depth"))
+                .verify();
+    }
+
+    @Test
+    void testTopLevelListsRejectTooManyIds() {
+        List<Long> ids = LongStream.rangeClosed(1, 101).boxed().toList();
+
+        for (String query : List.of("books", "authors", "categories")) {
+            graphQlTester.document("query($ids: [ID!]!) { " + query + "(ids: $ids) { id } }")
+                    .variable("ids", ids)
+                    .execute()
+                    .errors()
+                    .satisfy(errors -> assertTrue(errors.stream().anyMatch(error -> error.getErrorType() == ErrorType.BAD_REQUEST
+                            && error.getMessage().startsWith("At most 100 ids"))));
+        }
+    }
+
+    @Test
+    void testQueriesOverTheComplexityBudgetAreRejected() {
+        graphQlTester.document("query($ids: [ID!]!) { authors(ids: $ids) { books { author { books { name } } } } }")
+                .variable("ids", authorIds)
+                .execute()
+                .errors()
+                .expect(error -> error.getMessage() != null && error.getMessage().contains("maximum query complexity"))
+                .verify();
+    }
+
+    @Test
+    void testMissingBookResolvesToNull() {
+        graphQlTester.document("{ book(id: -1) { name } }")
+                .execute()
+                .path("book").valueIsNull();
+    }
+}
@@ -0,0 +1,58 @@
+package com.workintech.s18challenge;
+
+import com.workintech.s18challenge.config.PoolSizeAdvisor;
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:tuning;INIT=CREATE SCHEMA IF NOT EXISTS fsweb",
+        "jdbc.tuning.enabled=true",
+        "jdbc.tuning.pool.maximum-pool-size=4",
+        "jdbc.tuning.pool.minimum-idle=1",
+        "jdbc.tuning.hibernate.batch-size=25",
+        "jdbc.tuning.hibernate.default-batch-fetch-size=16",
+        "jdbc.tuning.self-benchmark.enabled=true",
+        "jdbc.tuning.self-benchmark.duration-per-level=20ms"})
+@ActiveProfiles("test")
+class JdbcTuningTest {
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PoolSizeAdvisor poolSizeAdvisor;
+
+    @Test
+    void testPoolAndHibernateSettingsComeFromTypedProperties() throws Exception {
+        HikariDataSource hikari = dataSource.unwrap(HikariDataSource.class);
+
+        assertEquals(4, hikari.getMaximumPoolSize());
+        assertEquals(1, hikari.getMinimumIdle());
+        assertEquals("25", String.valueOf(entityManagerFactory.getProperties().get("hibernate.jdbc.batch_size")));
+        assertEquals("16", String.valueOf(entityManagerFactory.getProperties().get("hibernate.default_batch_fetch_size")));
+    }
+
+    @Test
+    void testSelfBenchmarkRecommendsAPoolSizeWithinTheConfiguredMaximum() {
+        PoolSizeAdvisor.Recommendation recommendation = poolSizeAdvisor.recommendation();
+
+        assertNotNull(recommendation, "The self-benchmark should run at startup.");
+        assertEquals(List.of(1, 2, 4), List.copyOf(recommendation.queriesPerSecond().keySet()));
+        assertTrue(recommendation.roundTripMillis() > 0);
+        assertTrue(recommendation.recommendedPoolSize() >= 1 && recommendation.recommendedPoolSize() <= 4);
+    }
+}
@@ -1,14 +1,26 @@
 package com.workintech.s18challenge;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.workintech.s18challenge.dto.AuthorResponse;
+import com.workintech.s18challenge.dto.BookResponse;
+import com.workintech.s18challenge.dto.BookSearchResult;
+import com.workintech.s18challenge.dto.CategoryResponse;
+import com.workintech.s18challenge.dto.ImportResponse;
 import com.workintech.s18challenge.entity.Author;
 import com.workintech.s18challenge.entity.Book;
 import com.workintech.s18challenge.entity.Category;
+import com.workintech.s18challenge.event.BookSavedEvent;
 import com.workintech.s18challenge.repository.AuthorRepository;
 import com.workintech.s18challenge.repository.BookRepository;
 import com.workintech.s18challenge.repository.CategoryRepository;
+import com.workintech.s18challenge.repository.InMemoryBookSearchRepository;
 import com.workintech.s18challenge.service.AuthorServiceImpl;
 import com.workintech.s18challenge.service.BookServiceImpl;
 import com.workintech.s18challenge.service.CategoryServiceImpl;
+import com.workintech.s18challenge.service.ImportServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.hibernate.Hibernate;
+import org.hibernate.Session;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -17,12 +29,21 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Limit;
 import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
 
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -60,6 +81,12 @@ import static org.mockito.Mockito.when;
 
     private Category sampleCategoryRepoCategory;
 
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     @Mock
     private AuthorRepository mockAuthorRepository;
 
@@ -120,7 +147,7 @@ import static org.mockito.Mockito.when;
         entityManager.persist(sampleCategoryRepoCategory);
         entityManager.flush();
 
-        authorServiceInjected = new AuthorServiceImpl(mockAuthorRepository);
+        authorServiceInjected = new AuthorServiceImpl(mockAuthorRepository, mockBookRepository, new ConcurrentMapCacheManager(), new SimpleMeterRegistry());
 
         sampleAuthorServiceTest = new Author();
         sampleAuthorServiceTest.setId(1L);
@@ -134,7 +161,7 @@ import static org.mockito.Mockito.when;
         sampleBookBookServiceTest.setName("Test Book");
 
 
-        categoryService = new CategoryServiceImpl(mockCategoryRepository);
+        categoryService = new CategoryServiceImpl(mockCategoryRepository, new ConcurrentMapCacheManager(), new SimpleMeterRegistry());
         sampleCategoryCategoryServiceTest = new Category();
         sampleCategoryCategoryServiceTest.setId(1L);
         sampleCategoryCategoryServiceTest.setName("Fiction");
@@ -151,6 +178,46 @@ import static org.mockito.Mockito.when;
         assertEquals(book, author.getBooks().get(0));
     }
 
+    @Test
+    @DisplayName("Test entity equality is id based and safe for bidirectional links")
+    void testEntityIdentityWithBidirectionalLinks() {
+        author.addBook(book);
+        book.setAuthor(author);
+        category.addBook(book);
+        book.setCategory(category);
+
+        assertDoesNotThrow(() -> author.toString(), "toString should not walk back through books.");
+        assertFalse(book.toString().contains("Fiction"), "Book toString should not include its category.");
+
+        Set<Book> books = new HashSet<>();
+        books.add(book);
+        book.setId(42L);
+        assertTrue(books.contains(book), "Hash code should stay stable when the id is assigned.");
+
+        Book otherBook = new Book();
+        assertNotEquals(new Book(), otherBook, "Transient entities should only equal themselves.");
+        otherBook.setId(42L);
+        assertEquals(book, otherBook, "Entities with the same id should be equal.");
+        assertEquals(book.hashCode(), otherBook.hashCode());
+    }
+
+    @Test
+    @DisplayName("Test hashCode and toString do not initialize lazy books")
+    void testEntityIdentityDoesNotLoadLazyBooks() {
+        entityManager.clear();
+        Author loadedAuthor = authorRepository.findById(sampleBookRepoAuthor.getId()).orElseThrow();
+        Category loadedCategory = categoryRepository.findById(sampleBookRepoCategory.getId()).orElseThrow();
+
+        Set<Object> entities = new HashSet<>();
+        entities.add(loadedAuthor);
+        entities.add(loadedCategory);
+        String description = loadedAuthor + " " + loadedCategory;
+
+        assertTrue(description.contains("John"));
+        assertFalse(Hibernate.isInitialized(loadedAuthor.getBooks()), "Author books should stay lazy.");
+        assertFalse(Hibernate.isInitialized(loadedCategory.getBooks()), "Category books should stay lazy.");
+    }
+
     @Test
     @DisplayName("Test author getter setters")
     void testAuthorSettersAndGetters() {
@@ -255,6 +322,71 @@ import static org.mockito.Mockito.when;
         assertEquals(sampleBookRepoBook.getName(), foundBook.get().getName(), "Book names should match.");
     }
 
+    @Test
+    void testFindResponsesByAuthorIdSeeksPastLastId() {
+        Category keysetCategory = entityManager.find(Category.class, sampleBookRepoCategory.getId());
+        Author keysetAuthor = entityManager.find(Author.class, sampleBookRepoAuthor.getId());
+        for (int i = 0; i < 3; i++) {
+            Book keysetBook = new Book();
+            keysetBook.setName("Keyset Book " + i);
+            keysetBook.setCategory(keysetCategory);
+            keysetBook.setAuthor(keysetAuthor);
+            entityManager.persist(keysetBook);
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        List<BookResponse> firstPage = bookRepository.findResponsesByAuthorId(sampleBookRepoAuthor.getId(), 0, Limit.of(2));
+        List<BookResponse> secondPage = bookRepository.findResponsesByAuthorId(sampleBookRepoAuthor.getId(),
+                firstPage.get(1).id(), Limit.of(2));
+
+        assertEquals(2, firstPage.size(), "First page should be full.");
+        assertEquals(sampleBookRepoBook.getId(), firstPage.get(0).id(), "Pages should be ordered by id.");
+        assertEquals("Fiction", firstPage.get(0).categoryName(), "Category name should be projected.");
+        assertEquals("John Doe", firstPage.get(0).authorResponse().authorName(), "Author name should be projected.");
+        assertEquals(2, secondPage.size(), "Second page should continue after the last seen id.");
+        assertTrue(secondPage.get(0).id() > firstPage.get(1).id(), "Second page should start after the first page.");
+        assertEquals(4, bookRepository.findResponsesByCategoryId(sampleBookRepoCategory.getId(), 0, Limit.of(10)).size(),
+                "All books of the category should be listed.");
+    }
+
+    @Test
+    void testInMemoryBookSearchMatchesPrefixesTyposAndAuthors() {
+        Category searchCategory = entityManager.find(Category.class, sampleBookRepoCategory.getId());
+        Book otherBook = new Book();
+        otherBook.setName("Adventure Basics");
+        otherBook.setCategory(searchCategory);
+        entityManager.persistAndFlush(otherBook);
+        Book unrelatedBook = new Book();
+        unrelatedBook.setName("Cooking");
+        unrelatedBook.setCategory(searchCategory);
+        entityManager.persistAndFlush(unrelatedBook);
+        InMemoryBookSearchRepository searchRepository = new InMemoryBookSearchRepository(bookRepository);
+
+        List<BookSearchResult> prefixResults = searchRepository.search("adv", Double.MAX_VALUE, 0, 10);
+        List<BookSearchResult> typoResults = searchRepository.search("Grate Adventur", Double.MAX_VALUE, 0, 10);
+        List<BookSearchResult> authorResults = searchRepository.search("Jhon Doe", Double.MAX_VALUE, 0, 10);
+
+        assertEquals(2, prefixResults.size(), "Prefix query should match both adventure books.");
+        assertEquals(sampleBookRepoBook.getId(), typoResults.get(0).book().id(), "Typos should still match by trigram similarity.");
+        assertEquals(1, authorResults.size(), "Only the book with an author should match the author name.");
+        assertEquals(sampleBookRepoBook.getId(), authorResults.get(0).book().id(), "Author names should be searchable.");
+
+        BookSearchResult first = searchRepository.search("adv", Double.MAX_VALUE, 0, 1).get(0);
+        List<BookSearchResult> secondPage = searchRepository.search("adv", first.rank(), first.book().id(), 1);
+        assertEquals(prefixResults.get(1).book().id(), secondPage.get(0).book().id(), "Keyset page should continue after the cursor.");
+        assertTrue(searchRepository.search("adv", secondPage.get(0).rank(), secondPage.get(0).book().id(), 1).isEmpty(),
+                "No results should remain after the last page.");
+
+        Book laterBook = new Book();
+        laterBook.setName("Adventure Advanced");
+        laterBook.setCategory(searchCategory);
+        entityManager.persistAndFlush(laterBook);
+        assertEquals(2, searchRepository.search("adv", Double.MAX_VALUE, 0, 10).size(), "Search should not rescan the books on every query.");
+        searchRepository.onBookSaved(new BookSavedEvent(laterBook, true));
+        assertEquals(3, searchRepository.search("adv", Double.MAX_VALUE, 0, 10).size(), "Saved books should be added to the term map.");
+    }
+
     @Test
     void testUpdateBook() {
 
@@ -284,6 +416,23 @@ import static org.mockito.Mockito.when;
         assertEquals(sampleCategoryRepoCategory.getName(), foundCategory.get().getName(), "Category names should match.");
     }
 
+    @Test
+    void testFindResponseByIdProjectsWithoutLoadingEntities() {
+        entityManager.clear();
+
+        Optional<CategoryResponse> categoryResponse = categoryRepository.findResponseById(sampleCategoryRepoCategory.getId());
+        Optional<AuthorResponse> authorResponse = authorRepository.findResponseById(sampleAuthor.getId());
+        Optional<BookResponse> bookResponse = bookRepository.findResponseById(sampleBookRepoBook.getId());
+
+        assertEquals("Fiction", categoryResponse.orElseThrow().name(), "Category name should be projected.");
+        assertEquals("John Doe", authorResponse.orElseThrow().authorName(), "Author name should be projected.");
+        assertEquals("The Great Adventure", bookResponse.orElseThrow().name(), "Book name should be projected.");
+        assertEquals("John Doe", bookResponse.orElseThrow().authorResponse().authorName(), "Book author should be projected.");
+        assertEquals(0, entityManager.getEntityManager().unwrap(Session.class).getStatistics().getEntityCount(),
+                "Projections should not put entities into the persistence context.");
+        assertTrue(categoryRepository.findResponseById(999L).isEmpty(), "Unknown ids should project to empty.");
+    }
+
     @Test
     void testUpdateCategory() {
 
@@ -374,6 +523,57 @@ import static org.mockito.Mockito.when;
         assertEquals(sampleBookBookServiceTest.getId(), savedBook.getId(), "Book IDs should match");
     }
 
+    @Test
+    @DisplayName("Test saveAll in book service")
+    void testSaveAllBook() {
+        List<Book> books = List.of(new Book(), new Book());
+        given(mockBookRepository.saveAll(books)).willReturn(books);
+
+        List<Book> savedBooks = bookServiceInjected.saveAll(books);
+
+        assertEquals(2, savedBooks.size(), "All books should be saved.");
+        verify(mockBookRepository).saveAll(books);
+    }
+
+    @Test
+    void testSaveAllBookRepoAssignsSequenceIds() {
+        Category batchCategory = entityManager.find(Category.class, sampleBookRepoCategory.getId());
+        List<Book> books = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            Book batchBook = new Book();
+            batchBook.setName("Batch Book " + i);
+            batchBook.setCategory(batchCategory);
+            books.add(batchBook);
+        }
+
+        bookRepository.saveAll(books);
+        entityManager.flush();
+
+        for (Book savedBook : books) {
+            assertTrue(savedBook.getId() > 0, "Saved book should have a generated id.");
+        }
+        assertEquals(books.get(0).getId() + 2, books.get(2).getId(), "Ids should come from the pooled sequence in order.");
+    }
+
+    @Test
+    @DisplayName("Test ndjson import flushes books in batches")
+    void testImportBooks() {
+        ImportServiceImpl importService = new ImportServiceImpl(entityManager.getEntityManager(), new ObjectMapper(),
+                transactionManager, eventPublisher, 2);
+        long categoryId = sampleBookRepoCategory.getId();
+        StringBuilder payload = new StringBuilder();
+        for (int i = 0; i < 5; i++) {
+            payload.append("{\"name\":\"Imported ").append(i).append("\",\"categoryId\":").append(categoryId).append("}\n");
+        }
+
+        ImportResponse response = importService.importBooks(new ByteArrayInputStream(payload.toString().getBytes(StandardCharsets.UTF_8)));
+
+        assertEquals(5, response.records(), "All records should be imported.");
+        assertEquals(3, response.batches(), "Records should be persisted in batches of two.");
+        assertEquals(3, response.stages().size(), "Parse, resolve and persist stages should be reported.");
+        assertEquals(6, bookRepository.count(), "Imported books should be persisted next to the sample book.");
+    }
+
     @Test
     @DisplayName("Test findById with found in category service layer")
     void testFindByIdFoundCategoryService() {
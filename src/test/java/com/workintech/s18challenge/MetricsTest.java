@@ -0,0 +1,48 @@
+package com.workintech.s18challenge;
+
+import com.workintech.s18challenge.entity.Category;
+import com.workintech.s18challenge.service.CategoryService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:metrics;INIT=CREATE SCHEMA IF NOT EXISTS fsweb")
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+@ActiveProfiles("test")
+class MetricsTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Test
+    void testPrometheusExposesEndpointServicePoolHibernateAndCacheMetrics() throws Exception {
+        Category category = new Category();
+        category.setName("Fiction");
+        long categoryId = categoryService.save(category).getId();
+
+        mockMvc.perform(get("/category/{id}", categoryId)).andExpect(status().isOk());
+
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("http_server_requests_seconds_bucket{")))
+                .andExpect(content().string(containsString("uri=\"/category/{id}\"")))
+                .andExpect(content().string(containsString("s18challenge_service_seconds_bucket{")))
+                .andExpect(content().string(containsString("method=\"findResponseById\"")))
+                .andExpect(content().string(containsString("hikaricp_connections_acquire_seconds_bucket{")))
+                .andExpect(content().string(containsString("hibernate_statements_total")))
+                .andExpect(content().string(containsString("cache_gets_total{cache=\"categories\"")));
+    }
+}
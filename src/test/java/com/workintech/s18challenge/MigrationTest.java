@@ -0,0 +1,71 @@
+package com.workintech.s18challenge;
+
+import com.workintech.s18challenge.entity.Author;
+import com.workintech.s18challenge.entity.Book;
+import com.workintech.s18challenge.entity.Category;
+import com.workintech.s18challenge.repository.BookRepository;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:migration;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE",
+        "spring.flyway.enabled=true",
+        "spring.jpa.hibernate.ddl-auto=validate"})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+class MigrationTest {
+
+    @Autowired
+    private Flyway flyway;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Test
+    void testMigrationsCreateForeignKeyAndNameIndexes() {
+        assertEquals("6", flyway.info().current().getVersion().getVersion());
+
+        List<String> indexes = jdbcTemplate.queryForList(
+                "SELECT LOWER(INDEX_NAME) FROM INFORMATION_SCHEMA.INDEXES WHERE LOWER(TABLE_SCHEMA) = 'fsweb'", String.class);
+
+        assertTrue(indexes.containsAll(List.of("book_author_id_idx", "book_category_id_idx", "book_name_idx",
+                "category_name_idx", "author_name_idx")), "Missing indexes in " + indexes);
+    }
+
+    @Test
+    void testEntitiesSaveThroughSequenceGenerators() {
+        Category category = new Category();
+        category.setName("Poetry");
+        entityManager.persist(category);
+        Author author = new Author();
+        author.setFirstName("Emily");
+        author.setLastName("Dickinson");
+        entityManager.persist(author);
+        Book book = new Book();
+        book.setName("Because I could not stop for Death");
+        book.setCategory(category);
+        book.setAuthor(author);
+        entityManager.persistAndFlush(book);
+
+        assertTrue(category.getId() > 0 && author.getId() > 0 && book.getId() > 0);
+        assertEquals(1, bookRepository.findResponsesByAuthorId(author.getId(), 0, Limit.of(10)).size());
+    }
+}
@@ -0,0 +1,137 @@
+package com.workintech.s18challenge;
+
+import com.workintech.s18challenge.dto.BookResponse;
+import com.workintech.s18challenge.dto.CategoryResponse;
+import com.workintech.s18challenge.entity.Author;
+import com.workintech.s18challenge.entity.Book;
+import com.workintech.s18challenge.entity.Category;
+import com.workintech.s18challenge.monitoring.SqlStatementScope;
+import com.workintech.s18challenge.service.AuthorService;
+import com.workintech.s18challenge.service.BookService;
+import com.workintech.s18challenge.service.CategoryService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureTestDatabase
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class MultiGetTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private AuthorService authorService;
+
+    @Autowired
+    private BookService bookService;
+
+    private long saveCategory(String name) {
+        Category category = new Category();
+        category.setName(name);
+        return categoryService.save(category).getId();
+    }
+
+    @Test
+    void testOnlyCacheMissesAreFetchedInOneQuery() {
+        long cached = saveCategory("Cached");
+        long first = saveCategory("First");
+        long second = saveCategory("Second");
+        categoryService.findResponseById(cached);
+
+        try (SqlStatementScope scope = SqlStatementScope.open()) {
+            List<CategoryResponse> responses = categoryService.findAllById(List.of(second, cached, first, second, -1L));
+
+            assertEquals(List.of("Second", "Cached", "First"), responses.stream().map(CategoryResponse::name).toList());
+            assertEquals(1, scope.statementCount(), "Misses should be loaded together with a single IN query.");
+        }
+
+        try (SqlStatementScope scope = SqlStatementScope.open()) {
+            assertEquals(3, categoryService.findAllById(List.of(first, second, cached)).size());
+            assertEquals(0, scope.statementCount(), "Loaded responses should be served from the cache afterwards.");
+        }
+    }
+
+    @Test
+    void testLargeRequestsAreChunkedIntoBoundedQueries() {
+        List<Long> ids = new ArrayList<>(LongStream.rangeClosed(1_000_000, 1_002_499).boxed().toList());
+
+        try (SqlStatementScope scope = SqlStatementScope.open()) {
+            assertEquals(List.of(), bookService.findAllById(ids));
+            assertEquals(3, scope.statementCount(), "2500 ids should be split into three IN queries.");
+        }
+    }
+
+    @Test
+    void testMultiGetEndpointsReturnResponsesInRequestOrder() throws Exception {
+        long categoryId = saveCategory("Horror");
+        Author author = new Author();
+        author.setFirstName("Mary");
+        author.setLastName("Shelley");
+        Author savedAuthor = authorService.save(author);
+        List<Long> bookIds = new ArrayList<>();
+        for (String name : List.of("Frankenstein", "The Last Man")) {
+            Book book = new Book();
+            book.setName(name);
+            book.setCategory(categoryService.getReferenceById(categoryId));
+            book.setAuthor(authorService.getReferenceById(savedAuthor.getId()));
+            bookIds.add(bookService.save(book).getId());
+        }
+
+        mockMvc.perform(get("/book").param("ids", bookIds.get(1) + "," + bookIds.get(0)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].name", is("The Last Man")))
+                .andExpect(jsonPath("$[1].name", is("Frankenstein")))
+                .andExpect(jsonPath("$[1].authorResponse.authorName", is("Mary Shelley")));
+        mockMvc.perform(get("/author").param("ids", String.valueOf(savedAuthor.getId())))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].authorName", is("Mary Shelley")));
+        mockMvc.perform(get("/category").param("ids", String.valueOf(categoryId)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].name", is("Horror")));
+    }
+
+    @Test
+    void testMultiGetEndpointsRejectTooManyIds() throws Exception {
+        String ids = String.join(",", LongStream.rangeClosed(1, 101).mapToObj(String::valueOf).toList());
+
+        for (String path : List.of("/book", "/author", "/category")) {
+            mockMvc.perform(get(path).param("ids", ids))
+                    .andExpect(status().isBadRequest());
+        }
+    }
+
+    @Test
+    void testBookResponsesAreUnchangedByMultiGet() {
+        long categoryId = saveCategory("Satire");
+        Book book = new Book();
+        book.setName("Candide");
+        book.setCategory(categoryService.getReferenceById(categoryId));
+        long bookId = bookService.save(book).getId();
+
+        List<BookResponse> responses = bookService.findAllById(List.of(bookId));
+
+        assertEquals(List.of(bookService.findResponseById(bookId)), responses);
+    }
+}
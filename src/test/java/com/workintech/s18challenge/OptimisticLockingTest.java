@@ -0,0 +1,109 @@
+package com.workintech.s18challenge;
+
+import com.workintech.s18challenge.entity.Category;
+import com.workintech.s18challenge.monitoring.SqlStatementScope;
+import com.workintech.s18challenge.service.BookService;
+import com.workintech.s18challenge.service.CategoryService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureTestDatabase
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class OptimisticLockingTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private BookService bookService;
+
+    private Category saveCategory(String name) {
+        Category category = new Category();
+        category.setName(name);
+        return categoryService.save(category);
+    }
+
+    private void saveBook(long categoryId, String name) throws Exception {
+        mockMvc.perform(post("/book/{categoryId}", categoryId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"" + name + "\"}"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void testConcurrentSavesToOneCategoryDoNotTouchTheCategory() throws Exception {
+        Category category = saveCategory("Popular");
+        long versionBefore = categoryService.findById(category.getId()).getVersion();
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < 200; i++) {
+                String name = "Concurrent " + i;
+                futures.add(executor.submit(() -> {
+                    saveBook(category.getId(), name);
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertEquals(200, bookService.findByCategoryId(category.getId(), 0, 1000).size(), "No save should be lost.");
+        assertEquals(versionBefore, categoryService.findById(category.getId()).getVersion(),
+                "Inserting books should not write the parent category.");
+    }
+
+    @Test
+    void testSaveInsertsByForeignKeyWithoutLoadingTheCategory() throws Exception {
+        long categoryId = saveCategory("Lean").getId();
+        saveBook(categoryId, "Warm-up");
+
+        try (SqlStatementScope scope = SqlStatementScope.open()) {
+            saveBook(categoryId, "Lean Book");
+            scope.assertStatementCountAtMost(2);
+        }
+    }
+
+    @Test
+    void testStaleCategoryUpdateIsRejected() {
+        long categoryId = saveCategory("Original").getId();
+        Category first = categoryService.findById(categoryId);
+        Category second = categoryService.findById(categoryId);
+
+        first.setName("First Writer");
+        categoryService.save(first);
+        second.setName("Second Writer");
+
+        assertThrows(ObjectOptimisticLockingFailureException.class, () -> categoryService.save(second));
+        assertEquals("First Writer", categoryService.findResponseById(categoryId).name());
+        assertTrue(categoryService.findById(categoryId).getVersion() > 0);
+    }
+}
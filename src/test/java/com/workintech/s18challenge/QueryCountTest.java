@@ -0,0 +1,76 @@
+package com.workintech.s18challenge;
+
+import com.workintech.s18challenge.entity.Author;
+import com.workintech.s18challenge.entity.Book;
+import com.workintech.s18challenge.entity.Category;
+import com.workintech.s18challenge.repository.AuthorRepository;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+class QueryCountTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private AuthorRepository authorRepository;
+
+    @Autowired
+    private SessionFactory sessionFactory;
+
+    private Statistics statistics;
+
+    private long authorId;
+
+    @BeforeEach
+    void setUp() {
+        Author author = new Author();
+        author.setFirstName("John");
+        author.setLastName("Doe");
+        entityManager.persist(author);
+        for (int i = 0; i < 5; i++) {
+            Category category = new Category();
+            category.setName("Category " + i);
+            entityManager.persist(category);
+
+            Book book = new Book();
+            book.setName("Book " + i);
+            book.setCategory(category);
+            book.setAuthor(author);
+            entityManager.persist(book);
+        }
+        entityManager.flush();
+        entityManager.clear();
+        authorId = author.getId();
+
+        statistics = sessionFactory.getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void testAuthorWithBooksAndCategoriesLoadsInOneStatement() {
+        Author author = authorRepository.findWithBooksById(authorId).orElseThrow();
+
+        Set<String> categoryNames = new HashSet<>();
+        for (Book book : author.getBooks()) {
+            categoryNames.add(book.getCategory().getName());
+        }
+
+        assertEquals(5, author.getBooks().size(), "All books of the author should be loaded.");
+        assertEquals(5, categoryNames.size(), "Every book category should be initialized.");
+        assertEquals(1, statistics.getPrepareStatementCount(), "Author, books and categories should load in one query.");
+    }
+}
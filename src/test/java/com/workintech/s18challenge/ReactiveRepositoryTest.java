@@ -0,0 +1,66 @@
+package com.workintech.s18challenge;
+
+import com.workintech.s18challenge.repository.ReactiveAuthorRepository;
+import com.workintech.s18challenge.repository.ReactiveBookRepository;
+import com.workintech.s18challenge.repository.ReactiveCategoryRepository;
+import io.r2dbc.spi.ConnectionFactories;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.util.UUID;
+
+class ReactiveRepositoryTest {
+
+    private ReactiveCategoryRepository categoryRepository;
+    private ReactiveAuthorRepository authorRepository;
+    private ReactiveBookRepository bookRepository;
+
+    @BeforeEach
+    void setUp() {
+        DatabaseClient databaseClient = DatabaseClient.create(
+                ConnectionFactories.get("r2dbc:h2:mem:///" + UUID.randomUUID() + "?options=DB_CLOSE_DELAY=-1"));
+        Flux.just("CREATE SCHEMA fsweb",
+                        "CREATE TABLE fsweb.category (id BIGINT PRIMARY KEY, name VARCHAR(255))",
+                        "CREATE TABLE fsweb.author (id BIGINT PRIMARY KEY, first_name VARCHAR(255), last_name VARCHAR(255))",
+                        "CREATE TABLE fsweb.book (id BIGINT PRIMARY KEY, name VARCHAR(255), category_id BIGINT, author_id BIGINT)",
+                        "INSERT INTO fsweb.category VALUES (1, 'Fiction')",
+                        "INSERT INTO fsweb.author VALUES (1, 'John', 'Doe')",
+                        "INSERT INTO fsweb.book VALUES (1, 'First Book', 1, 1)",
+                        "INSERT INTO fsweb.book VALUES (2, 'Second Book', 1, 1)",
+                        "INSERT INTO fsweb.book VALUES (3, 'Third Book', 1, NULL)")
+                .concatMap(sql -> databaseClient.sql(sql).then())
+                .blockLast();
+
+        categoryRepository = new ReactiveCategoryRepository(databaseClient);
+        authorRepository = new ReactiveAuthorRepository(databaseClient);
+        bookRepository = new ReactiveBookRepository(databaseClient);
+    }
+
+    @Test
+    void testFindCategoryAndAuthorResponses() {
+        StepVerifier.create(categoryRepository.findResponseById(1))
+                .expectNextMatches(category -> category.id() == 1 && category.name().equals("Fiction"))
+                .verifyComplete();
+        StepVerifier.create(authorRepository.findResponseById(1))
+                .expectNextMatches(author -> author.authorName().equals("John Doe"))
+                .verifyComplete();
+        StepVerifier.create(categoryRepository.findResponseById(999))
+                .verifyComplete();
+    }
+
+    @Test
+    void testFindBookResponses() {
+        StepVerifier.create(bookRepository.findResponseById(3))
+                .expectNextMatches(book -> book.categoryName().equals("Fiction") && book.authorResponse() == null)
+                .verifyComplete();
+        StepVerifier.create(bookRepository.findResponsesByAuthorId(1, 1, 10))
+                .expectNextMatches(book -> book.id() == 2 && book.authorResponse().authorName().equals("John Doe"))
+                .verifyComplete();
+        StepVerifier.create(bookRepository.findResponsesByCategoryId(1, 0, 2))
+                .expectNextCount(2)
+                .verifyComplete();
+    }
+}
@@ -0,0 +1,191 @@
+package com.workintech.s18challenge;
+
+import com.workintech.s18challenge.dto.CategoryResponse;
+import com.workintech.s18challenge.entity.Book;
+import com.workintech.s18challenge.entity.Category;
+import com.workintech.s18challenge.replica.ReadReplicaConfig;
+import com.workintech.s18challenge.replica.ReadReplicaRoutingDataSource;
+import com.workintech.s18challenge.replica.ReplicaDataSourcePool;
+import com.workintech.s18challenge.service.BookService;
+import com.workintech.s18challenge.service.CategoryService;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.orm.jpa.support.OpenEntityManagerInViewInterceptor;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:primary;DB_CLOSE_DELAY=-1;INIT=CREATE SCHEMA IF NOT EXISTS fsweb",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "datasource.replica.enabled=true",
+        "datasource.replica.health-check-interval=1h",
+        "datasource.replica.instances[0].url=" + ReadReplicaRoutingTest.REPLICA_A,
+        "datasource.replica.instances[1].url=" + ReadReplicaRoutingTest.REPLICA_B})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ReadReplicaRoutingTest {
+
+    static final String REPLICA_A = "jdbc:h2:mem:replica-a;DB_CLOSE_DELAY=-1;INIT=CREATE SCHEMA IF NOT EXISTS fsweb";
+    static final String REPLICA_B = "jdbc:h2:mem:replica-b;DB_CLOSE_DELAY=-1;INIT=CREATE SCHEMA IF NOT EXISTS fsweb";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    private static JdbcTemplate jdbc(String url) {
+        return new JdbcTemplate(new DriverManagerDataSource(url, "sa", ""));
+    }
+
+    @BeforeEach
+    void setUp() {
+        for (String url : List.of(REPLICA_A, REPLICA_B)) {
+            JdbcTemplate replica = jdbc(url);
+            String name = url.equals(REPLICA_A) ? "Replica A" : "Replica B";
+            replica.execute("CREATE TABLE IF NOT EXISTS fsweb.category (id BIGINT PRIMARY KEY, name VARCHAR(255), version BIGINT NOT NULL, last_modified TIMESTAMP WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP)");
+            replica.update("MERGE INTO fsweb.category (id, name, version) KEY (id) VALUES (900, ?, 0)", name);
+            replica.update("MERGE INTO fsweb.category (id, name, version) KEY (id) VALUES (901, ?, 0)", name);
+        }
+    }
+
+    @Test
+    void testReadOnlyServiceCallsRoundRobinAcrossReplicas() {
+        Set<String> names = new HashSet<>();
+        names.add(categoryService.findById(900).getName());
+        names.add(categoryService.findById(900).getName());
+
+        assertEquals(Set.of("Replica A", "Replica B"), names);
+    }
+
+    @Test
+    void testWritesStayOnThePrimary() {
+        Category category = new Category();
+        category.setName("Primary Only");
+        long id = categoryService.save(category).getId();
+
+        assertEquals(1, jdbc("jdbc:h2:mem:primary").queryForObject(
+                "SELECT COUNT(*) FROM fsweb.category WHERE id = ?", Integer.class, id));
+        assertEquals(0, jdbc(REPLICA_A).queryForObject(
+                "SELECT COUNT(*) FROM fsweb.category WHERE name = 'Primary Only'", Integer.class));
+        assertEquals(0, jdbc(REPLICA_B).queryForObject(
+                "SELECT COUNT(*) FROM fsweb.category WHERE name = 'Primary Only'", Integer.class));
+    }
+
+    @Test
+    void testLookupFollowedByAWriteInOneRequestWritesToThePrimary() throws Exception {
+        Category category = new Category();
+        category.setName("Primary Category");
+        Book book = new Book();
+        book.setName("Primary Book");
+        book.setCategory(categoryService.save(category));
+        long bookId = bookService.save(book).getId();
+
+        mockMvc.perform(post("/author/{bookId}", bookId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"firstName\":\"Ada\",\"lastName\":\"Lovelace\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.responseList[0].name", is("Primary Book")))
+                .andExpect(jsonPath("$.responseList[0].authorResponse.authorName", is("Ada Lovelace")));
+
+        assertEquals(1, jdbc("jdbc:h2:mem:primary").queryForObject(
+                "SELECT COUNT(*) FROM fsweb.book b JOIN fsweb.author a ON a.id = b.author_id " +
+                        "WHERE b.id = ? AND a.last_name = 'Lovelace'", Integer.class, bookId));
+        assertTrue(applicationContext.getBeansOfType(OpenEntityManagerInViewInterceptor.class).isEmpty(),
+                "Open session in view would keep the first routed connection for the whole request.");
+    }
+
+    @Test
+    void testCachedGetEndpointsReadTheirOwnWritesFromThePrimary() throws Exception {
+        Category category = new Category();
+        category.setName("Just Written");
+        long id = categoryService.save(category).getId();
+
+        mockMvc.perform(get("/category/{id}", id))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name", is("Just Written")));
+        assertEquals("Just Written", categoryService.findResponseById(id).name());
+        assertEquals(List.of("Just Written"), categoryService.findAllById(List.of(id)).stream()
+                .map(CategoryResponse::name).toList());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testClosingTheRoutingDataSourceClosesThePrimaryPool() throws Exception {
+        HikariDataSource primary = mock(HikariDataSource.class);
+        given(primary.getConnection()).willReturn(mock(Connection.class));
+        ReplicaDataSourcePool pool = new ReplicaDataSourcePool(List.of(), Duration.ofHours(1), Duration.ofSeconds(1));
+        ObjectProvider<ReplicaDataSourcePool> replicas = mock(ObjectProvider.class);
+        given(replicas.getObject()).willReturn(pool);
+        Object routing = ReadReplicaConfig.readReplicaDataSourcePostProcessor(replicas)
+                .postProcessAfterInitialization(primary, "dataSource");
+
+        assertTrue(routing instanceof AutoCloseable, "The routing data source should expose close() for shutdown.");
+        ((AutoCloseable) routing).close();
+        verify(primary).close();
+        pool.close();
+    }
+
+    @Test
+    void testUnhealthyReplicasAreSkippedAndReadsFallBackToThePrimary() throws Exception {
+        DataSource up = mock(DataSource.class);
+        DataSource down = mock(DataSource.class);
+        DataSource primary = mock(DataSource.class);
+        Connection upConnection = mock(Connection.class);
+        Connection primaryConnection = mock(Connection.class);
+        given(up.getConnection()).willReturn(upConnection);
+        given(upConnection.isValid(1)).willReturn(true);
+        given(down.getConnection()).willThrow(new SQLException("Connection refused"));
+        given(primary.getConnection()).willReturn(primaryConnection);
+
+        try (ReplicaDataSourcePool pool = new ReplicaDataSourcePool(List.of(up, down), Duration.ofHours(1), Duration.ofSeconds(1))) {
+            assertEquals(1, pool.healthyCount());
+            assertSame(up, pool.next());
+            assertSame(up, pool.next());
+
+            given(upConnection.isValid(1)).willReturn(false);
+            pool.checkHealth();
+            assertNull(pool.next());
+
+            ReadReplicaRoutingDataSource routing = new ReadReplicaRoutingDataSource(primary, pool);
+            assertSame(primaryConnection, routing.getConnection());
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package com.workintech.s18challenge;
+
+import com.workintech.s18challenge.dto.AuthorResponse;
+import com.workintech.s18challenge.dto.CategoryResponse;
+import com.workintech.s18challenge.repository.AuthorRepository;
+import com.workintech.s18challenge.repository.BookRepository;
+import com.workintech.s18challenge.repository.CategoryRepository;
+import com.workintech.s18challenge.service.AuthorServiceImpl;
+import com.workintech.s18challenge.service.CategoryServiceImpl;
+import com.workintech.s18challenge.service.SingleFlight;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class RequestCoalescingTest {
+
+    private static final int CALLERS_PER_KEY = 50;
+
+    private SimpleMeterRegistry meterRegistry;
+    private ExecutorService executorService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        executorService = Executors.newFixedThreadPool(2 * CALLERS_PER_KEY);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executorService.shutdownNow();
+    }
+
+    private double coalesced(String name) {
+        return meterRegistry.counter("single.flight.calls", "name", name, "result", "coalesced").count();
+    }
+
+    private void awaitCoalesced(String name, double expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (coalesced(name) < expected) {
+            assertTrue(System.nanoTime() < deadline, "Callers did not join the in-flight lookups in time.");
+            Thread.sleep(5);
+        }
+    }
+
+    @Test
+    void testConcurrentCategoryLookupsShareOneQueryPerKey() throws Exception {
+        CategoryRepository categoryRepository = mock(CategoryRepository.class);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger queries = new AtomicInteger();
+        when(categoryRepository.findResponseById(anyLong())).thenAnswer(invocation -> {
+            queries.incrementAndGet();
+            release.await(10, TimeUnit.SECONDS);
+            long id = invocation.getArgument(0);
+            return Optional.of(new CategoryResponse(id, "Category " + id));
+        });
+        CategoryServiceImpl categoryService =
+                new CategoryServiceImpl(categoryRepository, new ConcurrentMapCacheManager(), meterRegistry);
+
+        List<Future<CategoryResponse>> first = new ArrayList<>();
+        List<Future<CategoryResponse>> second = new ArrayList<>();
+        for (int i = 0; i < CALLERS_PER_KEY; i++) {
+            first.add(executorService.submit(() -> categoryService.findResponseById(1L)));
+            second.add(executorService.submit(() -> categoryService.findResponseById(2L)));
+        }
+        awaitCoalesced("category", 2 * (CALLERS_PER_KEY - 1));
+        release.countDown();
+
+        for (int i = 0; i < CALLERS_PER_KEY; i++) {
+            assertEquals(new CategoryResponse(1L, "Category 1"), first.get(i).get(10, TimeUnit.SECONDS));
+            assertEquals(new CategoryResponse(2L, "Category 2"), second.get(i).get(10, TimeUnit.SECONDS));
+        }
+        assertEquals(2, queries.get(), "Only one query should run per key.");
+        verify(categoryRepository, times(1)).findResponseById(1L);
+        verify(categoryRepository, times(1)).findResponseById(2L);
+        assertEquals(2, meterRegistry.counter("single.flight.calls", "name", "category", "result", "executed").count());
+    }
+
+    @Test
+    void testFailedAuthorLookupIsSharedAndNotRemembered() throws Exception {
+        AuthorRepository authorRepository = mock(AuthorRepository.class);
+        CountDownLatch release = new CountDownLatch(1);
+        when(authorRepository.findResponseById(7L)).thenAnswer(invocation -> {
+            release.await(10, TimeUnit.SECONDS);
+            return Optional.empty();
+        }).thenReturn(Optional.of(new AuthorResponse(7L, "Mary Shelley")));
+        AuthorServiceImpl authorService =
+                new AuthorServiceImpl(authorRepository, mock(BookRepository.class), new ConcurrentMapCacheManager(), meterRegistry);
+
+        List<Future<AuthorResponse>> callers = new ArrayList<>();
+        for (int i = 0; i < CALLERS_PER_KEY; i++) {
+            callers.add(executorService.submit(() -> authorService.findResponseById(7L)));
+        }
+        awaitCoalesced("author", CALLERS_PER_KEY - 1);
+        release.countDown();
+
+        for (Future<AuthorResponse> caller : callers) {
+            ExecutionException exception = assertThrows(ExecutionException.class, () -> caller.get(10, TimeUnit.SECONDS));
+            assertTrue(exception.getCause().getMessage().startsWith("Author with given id is not found"));
+        }
+        verify(authorRepository, times(1)).findResponseById(7L);
+
+        assertEquals(new AuthorResponse(7L, "Mary Shelley"), authorService.findResponseById(7L));
+        verify(authorRepository, times(2)).findResponseById(7L);
+    }
+
+    @Test
+    void testLookupsBeyondTheInFlightCapRunDirectly() throws Exception {
+        SingleFlight<Long, Long> singleFlight = new SingleFlight<>("capped", 1, meterRegistry);
+        CountDownLatch release = new CountDownLatch(1);
+        Future<Long> held = executorService.submit(() -> singleFlight.execute(1L, key -> {
+            await(release);
+            return key;
+        }));
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (meterRegistry.get("single.flight.in.flight").tag("name", "capped").gauge().value() < 1) {
+            assertTrue(System.nanoTime() < deadline);
+            Thread.sleep(5);
+        }
+
+        assertEquals(2L, singleFlight.execute(2L, key -> key));
+        assertEquals(1, meterRegistry.counter("single.flight.calls", "name", "capped", "result", "bypassed").count());
+
+        release.countDown();
+        assertEquals(1L, held.get(10, TimeUnit.SECONDS));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.workintech.s18challenge;
+
+import com.workintech.s18challenge.entity.Book;
+import com.workintech.s18challenge.entity.Category;
+import com.workintech.s18challenge.repository.BookRepository;
+import com.workintech.s18challenge.repository.CategoryRepository;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest
+@ActiveProfiles({"test", "l2cache"})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class SecondLevelCacheTest {
+
+    @Autowired
+    private SessionFactory sessionFactory;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = sessionFactory.getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void testRepeatedFindByIdIsAnsweredFromSecondLevelCache() {
+        Category category = new Category();
+        category.setName("Fiction");
+        long id = categoryRepository.save(category).getId();
+
+        categoryRepository.findById(id);
+        long statementsAfterFirstLookup = statistics.getPrepareStatementCount();
+
+        for (int i = 0; i < 5; i++) {
+            assertEquals("Fiction", categoryRepository.findById(id).orElseThrow().getName());
+        }
+
+        assertEquals(statementsAfterFirstLookup, statistics.getPrepareStatementCount(),
+                "Repeated lookups should not issue any SQL.");
+        CacheRegionStatistics regionStatistics = statistics.getDomainDataRegionStatistics(Category.class.getName());
+        assertTrue(regionStatistics.getHitCount() >= 5, "Repeated lookups should hit the category region.");
+
+        categoryRepository.deleteById(id);
+    }
+
+    @Test
+    void testCachedBooksCollectionIsEvictedWhenABookIsSavedFromTheOwningSide() {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        Category category = new Category();
+        category.setName("Poetry");
+        long id = categoryRepository.save(category).getId();
+        saveBook("Leaves of Grass", id);
+        assertEquals(Integer.valueOf(1), transactionTemplate.execute(status -> categoryRepository.findById(id).orElseThrow().getBooks().size()));
+
+        saveBook("Ariel", id);
+
+        assertEquals(Integer.valueOf(2), transactionTemplate.execute(status -> categoryRepository.findById(id).orElseThrow().getBooks().size()),
+                "Saving a book should evict the cached books collection of its category.");
+    }
+
+    private void saveBook(String name, long categoryId) {
+        Book book = new Book();
+        book.setName(name);
+        book.setCategory(categoryRepository.getReferenceById(categoryId));
+        bookRepository.save(book);
+    }
+}
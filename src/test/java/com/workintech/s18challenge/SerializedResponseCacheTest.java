@@ -0,0 +1,206 @@
+package com.workintech.s18challenge;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.workintech.s18challenge.cache.SerializedResponseCache;
+import com.workintech.s18challenge.dto.CategoryResponse;
+import com.workintech.s18challenge.dto.EntityVersion;
+import com.workintech.s18challenge.entity.Author;
+import com.workintech.s18challenge.entity.Book;
+import com.workintech.s18challenge.entity.Category;
+import com.workintech.s18challenge.monitoring.SqlStatementScope;
+import com.workintech.s18challenge.service.AuthorService;
+import com.workintech.s18challenge.service.BookService;
+import com.workintech.s18challenge.service.CategoryService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureTestDatabase
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class SerializedResponseCacheTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private AuthorService authorService;
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void testRepeatedReadIsServedWithoutStatements() throws Exception {
+        Category category = new Category();
+        category.setName("Cached");
+        long categoryId = categoryService.save(category).getId();
+
+        mockMvc.perform(get("/category/{id}", categoryId)).andExpect(status().isOk());
+
+        try (SqlStatementScope scope = SqlStatementScope.open()) {
+            mockMvc.perform(get("/category/{id}", categoryId))
+                    .andExpect(status().isOk())
+                    .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                    .andExpect(jsonPath("$.name", is("Cached")));
+
+            assertEquals(0, scope.statementCount(), "A cached response should be written without touching the database.");
+        }
+    }
+
+    @Test
+    void testSavingACategoryEvictsItsResponse() throws Exception {
+        Category category = new Category();
+        category.setName("Before");
+        Category saved = categoryService.save(category);
+
+        mockMvc.perform(get("/category/{id}", saved.getId()))
+                .andExpect(jsonPath("$.name", is("Before")));
+
+        Category renamed = categoryService.findById(saved.getId());
+        renamed.setName("After");
+        categoryService.save(renamed);
+
+        mockMvc.perform(get("/category/{id}", saved.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name", is("After")));
+    }
+
+    @Test
+    void testSavingABookEvictsItsAuthorsBookList() throws Exception {
+        Category category = new Category();
+        category.setName("Drama");
+        long categoryId = categoryService.save(category).getId();
+        Author author = new Author();
+        author.setFirstName("Jane");
+        author.setLastName("Austen");
+        long authorId = authorService.save(author).getId();
+
+        mockMvc.perform(get("/author/{id}/books", authorId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.responseList", hasSize(0)));
+
+        mockMvc.perform(post("/book/saveByAuthor")
+                        .param("categoryId", String.valueOf(categoryId))
+                        .param("authorId", String.valueOf(authorId))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Emma\"}"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/author/{id}/books", authorId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.responseList", hasSize(1)))
+                .andExpect(jsonPath("$.responseList[0].name", is("Emma")))
+                .andExpect(jsonPath("$.responseList[0].categoryName", is("Drama")));
+    }
+
+    @Test
+    void testImportingBooksEvictsCachedAuthorBookLists() throws Exception {
+        Category category = new Category();
+        category.setName("Poetry");
+        long categoryId = categoryService.save(category).getId();
+        Author author = new Author();
+        author.setFirstName("Emily");
+        author.setLastName("Dickinson");
+        long authorId = authorService.save(author).getId();
+
+        String eTag = mockMvc.perform(get("/author/{id}/books", authorId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.responseList", hasSize(0)))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(post("/book/import")
+                        .contentType("application/x-ndjson")
+                        .content("{\"name\":\"Poems\",\"categoryId\":" + categoryId + ",\"authorId\":" + authorId + "}\n"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/author/{id}/books", authorId).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.responseList", hasSize(1)))
+                .andExpect(jsonPath("$.responseList[0].name", is("Poems")));
+    }
+
+    @Test
+    void testCreatingACategoryKeepsCachedBookResponses() throws Exception {
+        Category category = new Category();
+        category.setName("Essays");
+        long categoryId = categoryService.save(category).getId();
+        long bookId = saveBook("Walden", categoryId);
+        mockMvc.perform(get("/book/{id}", bookId)).andExpect(status().isOk());
+
+        Category other = new Category();
+        other.setName("Letters");
+        categoryService.save(other);
+
+        try (SqlStatementScope scope = SqlStatementScope.open()) {
+            mockMvc.perform(get("/book/{id}", bookId))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.name", is("Walden")));
+
+            assertEquals(0, scope.statementCount(), "A new category cannot be referenced by any cached book response.");
+        }
+    }
+
+    @Test
+    void testEntryKeepsTheVersionReadWithItsBody() {
+        SerializedResponseCache cache = new SerializedResponseCache(objectMapper, new SimpleMeterRegistry(),
+                transactionManager, DataSize.ofMegabytes(1), Duration.ofMinutes(1));
+        Iterator<EntityVersion> versions = List.of(new EntityVersion(1, Instant.EPOCH), new EntityVersion(2, Instant.EPOCH)).iterator();
+        List<Boolean> loadedInTransaction = new ArrayList<>();
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, "\"0\"");
+
+        ResponseEntity<byte[]> response = cache.respond(SerializedResponseCache.View.CATEGORY, 1,
+                new ServletWebRequest(request), versions::next, () -> {
+                    loadedInTransaction.add(TransactionSynchronizationManager.isActualTransactionActive());
+                    return new CategoryResponse(1, "Concurrent");
+                });
+
+        assertEquals("\"2\"", response.getHeaders().getETag(), "The cached entry should carry the version read with its body.");
+        assertEquals(List.of(true), loadedInTransaction);
+    }
+
+    private long saveBook(String name, long categoryId) {
+        Book book = new Book();
+        book.setName(name);
+        book.setCategory(categoryService.getReferenceById(categoryId));
+        return bookService.save(book).getId();
+    }
+}
@@ -0,0 +1,87 @@
+package com.workintech.s18challenge;
+
+import com.workintech.s18challenge.entity.Category;
+import com.workintech.s18challenge.monitoring.SqlStatementBudgetFilter;
+import com.workintech.s18challenge.monitoring.SqlStatementScope;
+import com.workintech.s18challenge.service.CategoryService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {"sql.monitoring.response-headers=true", "sql.monitoring.statement-budget=1"})
+@AutoConfigureTestDatabase
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class SqlMonitoringTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private long saveCategory(String name) {
+        Category category = new Category();
+        category.setName(name);
+        return categoryService.save(category).getId();
+    }
+
+    @Test
+    void testStatementCountIsAttachedAsResponseHeader() throws Exception {
+        long categoryId = saveCategory("Fiction");
+
+        mockMvc.perform(get("/category/{id}", categoryId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name", is("Fiction")))
+                .andExpect(header().string(SqlStatementBudgetFilter.STATEMENT_COUNT_HEADER, "2"))
+                .andExpect(header().exists(SqlStatementBudgetFilter.STATEMENT_TIME_HEADER));
+    }
+
+    @Test
+    void testRequestOverBudgetIsFlagged() throws Exception {
+        long categoryId = saveCategory("Science");
+        double exceededBefore = meterRegistry.counter("sql.statement.budget.exceeded", "uri", "/book/{categoryId}").count();
+
+        mockMvc.perform(post("/book/{categoryId}", categoryId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Budget Book\"}"))
+                .andExpect(status().isOk());
+
+        assertEquals(exceededBefore + 1, meterRegistry.counter("sql.statement.budget.exceeded", "uri", "/book/{categoryId}").count(),
+                "Saving a book takes more than one statement and should exceed the budget.");
+    }
+
+    @Test
+    void testScopeCountsStatementsForAssertions() {
+        long categoryId = saveCategory("History");
+
+        try (SqlStatementScope scope = SqlStatementScope.open()) {
+            categoryService.findById(categoryId);
+            categoryService.findById(categoryId);
+
+            assertEquals(2, scope.statementCount(), "Each lookup outside a shared session should run one select.");
+            scope.assertStatementCountAtMost(2);
+            assertThrows(AssertionError.class, () -> scope.assertStatementCountAtMost(1));
+            assertTrue(scope.elapsedMillis() >= 0);
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.workintech.s18challenge.benchmark;
+
+import com.workintech.s18challenge.entity.Category;
+import com.workintech.s18challenge.service.CategoryService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BookControllerBenchmark {
+
+    private ConfigurableApplicationContext context;
+    private HttpClient httpClient;
+    private HttpRequest saveRequest;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkApplication.start(WebApplicationType.SERVLET);
+        Category category = new Category();
+        category.setName("Fiction");
+        long categoryId = context.getBean(CategoryService.class).save(category).getId();
+        int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+
+        httpClient = HttpClient.newHttpClient();
+        saveRequest = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/workintech/book/" + categoryId))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("{\"name\":\"Benchmark Book\"}"))
+                .build();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public String save() throws Exception {
+        return httpClient.send(saveRequest, HttpResponse.BodyHandlers.ofString()).body();
+    }
+}
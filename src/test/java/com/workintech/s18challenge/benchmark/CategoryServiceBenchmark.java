@@ -0,0 +1,48 @@
+package com.workintech.s18challenge.benchmark;
+
+import com.workintech.s18challenge.entity.Category;
+import com.workintech.s18challenge.service.CategoryService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CategoryServiceBenchmark {
+
+    private ConfigurableApplicationContext context;
+    private CategoryService categoryService;
+    private long categoryId;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkApplication.start(WebApplicationType.NONE);
+        categoryService = context.getBean(CategoryService.class);
+        Category category = new Category();
+        category.setName("Fiction");
+        categoryId = categoryService.save(category).getId();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Category findById() {
+        return categoryService.findById(categoryId);
+    }
+
+    @Benchmark
+    public Category save() {
+        Category category = new Category();
+        category.setName("Benchmark");
+        return categoryService.save(category);
+    }
+}
@@ -0,0 +1,60 @@
+package com.workintech.s18challenge.benchmark;
+
+import com.workintech.s18challenge.entity.Author;
+import com.workintech.s18challenge.entity.Book;
+import com.workintech.s18challenge.entity.Category;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EntityIdentityBenchmark {
+
+    @Param({"10", "1000"})
+    private int bookCount;
+
+    private Author author;
+
+    @Setup
+    public void setUp() {
+        Category category = new Category();
+        category.setId(1);
+        category.setName("Fiction");
+        author = new Author();
+        author.setId(1);
+        author.setFirstName("John");
+        author.setLastName("Doe");
+        for (int i = 0; i < bookCount; i++) {
+            Book book = new Book();
+            book.setId(i + 1);
+            book.setName("Book " + i);
+            book.setAuthor(author);
+            book.setCategory(category);
+            author.addBook(book);
+            category.addBook(book);
+        }
+    }
+
+    @Benchmark
+    public int hashCodeOfAuthorWithBooks() {
+        return author.hashCode();
+    }
+
+    @Benchmark
+    public String toStringOfAuthorWithBooks() {
+        return author.toString();
+    }
+
+    @Benchmark
+    public boolean addAuthorToSet() {
+        Set<Author> authors = new HashSet<>();
+        return authors.add(author);
+    }
+}
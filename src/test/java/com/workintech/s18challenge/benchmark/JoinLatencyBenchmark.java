@@ -0,0 +1,109 @@
+package com.workintech.s18challenge.benchmark;
+
+import org.flywaydb.core.Flyway;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Objects;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JoinLatencyBenchmark {
+
+    private static final String SCHEMA = "fsweb_benchmark";
+    private static final int BOOKS_PER_AUTHOR = 20;
+    private static final int CATEGORIES = 100;
+    private static final String SELECT_RESPONSES = "SELECT b.id, b.name, c.name, a.id, a.first_name || ' ' || a.last_name " +
+            "FROM book b LEFT JOIN category c ON c.id = b.category_id LEFT JOIN author a ON a.id = b.author_id ";
+
+    @Param("1000000")
+    private int books;
+
+    @Param({"false", "true"})
+    private boolean indexed;
+
+    private Connection connection;
+    private PreparedStatement byAuthor;
+    private PreparedStatement byCategory;
+    private int authors;
+
+    @Setup
+    public void setUp() throws SQLException {
+        String url = Objects.requireNonNullElse(System.getenv("BENCHMARK_JDBC_URL"), "jdbc:postgresql://localhost:5432/postgres");
+        String username = Objects.requireNonNullElse(System.getenv("BENCHMARK_JDBC_USERNAME"), "postgres");
+        String password = Objects.requireNonNullElse(System.getenv("BENCHMARK_JDBC_PASSWORD"), "changeme");
+        authors = books / BOOKS_PER_AUTHOR;
+
+        Flyway schemaOnly = flyway(url, username, password, "1");
+        schemaOnly.clean();
+        schemaOnly.migrate();
+
+        connection = DriverManager.getConnection(url, username, password);
+        connection.setSchema(SCHEMA);
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("INSERT INTO category (id, name) SELECT i, 'Category ' || i FROM generate_series(1, " + CATEGORIES + ") i");
+            statement.execute("INSERT INTO author (id, first_name, last_name) " +
+                    "SELECT i, 'First ' || i, 'Last ' || i FROM generate_series(1, " + authors + ") i");
+            statement.execute("INSERT INTO book (id, name, category_id, author_id) " +
+                    "SELECT i, 'Book ' || i, 1 + i % " + CATEGORIES + ", 1 + i % " + authors + " FROM generate_series(1, " + books + ") i");
+        }
+        if (indexed) {
+            flyway(url, username, password, "latest").migrate();
+        }
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("ANALYZE");
+        }
+
+        byAuthor = connection.prepareStatement(SELECT_RESPONSES + "WHERE b.author_id = ? AND b.id > 0 ORDER BY b.id LIMIT 20");
+        byCategory = connection.prepareStatement(SELECT_RESPONSES + "WHERE b.category_id = ? AND b.id > 0 ORDER BY b.id LIMIT 20");
+    }
+
+    @TearDown
+    public void tearDown() throws SQLException {
+        connection.close();
+    }
+
+    private static Flyway flyway(String url, String username, String password, String target) {
+        return Flyway.configure()
+                .dataSource(url, username, password)
+                .schemas(SCHEMA)
+                .locations("classpath:db/migration/common")
+                .target(target)
+                .cleanDisabled(false)
+                .load();
+    }
+
+    @Benchmark
+    public void booksByAuthor(Blackhole blackhole) throws SQLException {
+        byAuthor.setLong(1, 1 + ThreadLocalRandom.current().nextInt(authors));
+        consume(byAuthor, blackhole);
+    }
+
+    @Benchmark
+    public void booksByCategory(Blackhole blackhole) throws SQLException {
+        byCategory.setLong(1, 1 + ThreadLocalRandom.current().nextInt(CATEGORIES));
+        consume(byCategory, blackhole);
+    }
+
+    private static void consume(PreparedStatement statement, Blackhole blackhole) throws SQLException {
+        try (ResultSet resultSet = statement.executeQuery()) {
+            while (resultSet.next()) {
+                blackhole.consume(resultSet.getLong(1));
+                blackhole.consume(resultSet.getString(2));
+                blackhole.consume(resultSet.getString(5));
+            }
+        }
+    }
+}
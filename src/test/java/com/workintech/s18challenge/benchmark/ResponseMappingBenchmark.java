@@ -0,0 +1,64 @@
+package com.workintech.s18challenge.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.workintech.s18challenge.dto.AuthorResponse;
+import com.workintech.s18challenge.dto.AuthorResponseWithBooks;
+import com.workintech.s18challenge.dto.BookResponse;
+import com.workintech.s18challenge.entity.Author;
+import com.workintech.s18challenge.entity.Book;
+import com.workintech.s18challenge.entity.Category;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResponseMappingBenchmark {
+
+    @Param({"1", "20"})
+    private int bookCount;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private Book book;
+    private AuthorResponseWithBooks authorResponseWithBooks;
+
+    @Setup
+    public void setUp() {
+        Category category = new Category();
+        category.setId(1);
+        category.setName("Fiction");
+        Author author = new Author();
+        author.setId(1);
+        author.setFirstName("John");
+        author.setLastName("Doe");
+        book = new Book();
+        book.setId(1);
+        book.setName("Sample Book");
+        book.setCategory(category);
+        book.setAuthor(author);
+
+        List<BookResponse> responseList = new ArrayList<>();
+        for (int i = 0; i < bookCount; i++) {
+            responseList.add(new BookResponse(i, "Book " + i, "Fiction", new AuthorResponse(1, "John Doe")));
+        }
+        authorResponseWithBooks = new AuthorResponseWithBooks(responseList);
+    }
+
+    @Benchmark
+    public BookResponse toBookResponse() {
+        Author author = book.getAuthor();
+        return new BookResponse(book.getId(), book.getName(), book.getCategory().getName(),
+                new AuthorResponse(author.getId(), author.getFirstName() + " " + author.getLastName()));
+    }
+
+    @Benchmark
+    public byte[] serializeAuthorResponseWithBooks() throws Exception {
+        return objectMapper.writeValueAsBytes(authorResponseWithBooks);
+    }
+}